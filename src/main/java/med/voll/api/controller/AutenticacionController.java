@@ -7,14 +7,13 @@ import med.voll.api.domain.usuario.DatosAutenticacionUsuario;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
-@RequestMapping("/login")
 @SecurityRequirement(name = "bearer-key")
 public class AutenticacionController {
 
@@ -24,7 +23,7 @@ public class AutenticacionController {
         this.autenticacionService = autenticacionService;
     }
 
-    @PostMapping
+    @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> autenticarUsuario(@RequestBody @Valid final DatosAutenticacionUsuario datosAutenticacionUsuario) {
         String jwtToken = autenticacionService.autenticarYGenerarToken(datosAutenticacionUsuario);
 
@@ -36,4 +35,16 @@ public class AutenticacionController {
 
         return ResponseEntity.ok(successResponse);
     }
+
+    // Revoca el token con el que se hizo la solicitud y lo quita de la caché de tokens verificados
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> cerrarSesion(@RequestHeader("Authorization") final String authorization) {
+        autenticacionService.cerrarSesion(authorization.replace("Bearer ", ""));
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "LOGOUT_SUCCESS");
+        successResponse.put("message", "Sesión cerrada exitosamente.");
+
+        return ResponseEntity.ok(successResponse);
+    }
 }
\ No newline at end of file
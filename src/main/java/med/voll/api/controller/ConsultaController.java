@@ -2,16 +2,24 @@ package med.voll.api.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.transaction.Transactional;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import med.voll.api.domain.consulta.*;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.infra.exportacion.ExportadorNdjson;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/consultas")
@@ -19,9 +27,39 @@ import java.util.Map;
 public class ConsultaController {
 
     private final ReservaDeConsultas reservaDeConsultas;
+    private final ReservaEnLoteDeConsultas reservaEnLoteDeConsultas;
+    private final DisponibilidadDeConsultas disponibilidadDeConsultas;
+    private final ColaDeReservas colaDeReservas;
+    private final ConsultaRepository consultaRepository;
+    private final ExportadorNdjson exportadorNdjson;
 
-    public ConsultaController(final ReservaDeConsultas reservaDeConsultas) {
+    public ConsultaController(final ReservaDeConsultas reservaDeConsultas,
+                              final ReservaEnLoteDeConsultas reservaEnLoteDeConsultas,
+                              final DisponibilidadDeConsultas disponibilidadDeConsultas,
+                              final ColaDeReservas colaDeReservas,
+                              final ConsultaRepository consultaRepository,
+                              final ExportadorNdjson exportadorNdjson) {
         this.reservaDeConsultas = reservaDeConsultas;
+        this.reservaEnLoteDeConsultas = reservaEnLoteDeConsultas;
+        this.disponibilidadDeConsultas = disponibilidadDeConsultas;
+        this.colaDeReservas = colaDeReservas;
+        this.consultaRepository = consultaRepository;
+        this.exportadorNdjson = exportadorNdjson;
+    }
+
+    @GetMapping("/disponibilidad")
+    public ResponseEntity<List<DatosDisponibilidadMedico>> disponibilidad(
+            @RequestParam final Especialidad especialidad,
+            @RequestParam @DateTimeFormat(pattern = "dd/MM/yyyy") final LocalDate desde,
+            @RequestParam @DateTimeFormat(pattern = "dd/MM/yyyy") final LocalDate hasta
+    ) {
+        return ResponseEntity.ok(disponibilidadDeConsultas.buscarHorariosLibres(especialidad, desde, hasta));
+    }
+
+    // Exportación completa en NDJSON: las filas se escriben según llegan, con memoria constante
+    @GetMapping(value = "/export", produces = ExportadorNdjson.NDJSON)
+    public void exporta(HttpServletResponse response) throws IOException {
+        exportadorNdjson.exportar(consultaRepository::exportarListado, response);
     }
 
     @PostMapping
@@ -48,6 +86,41 @@ public class ConsultaController {
         return ResponseEntity.created(url).body(successResponse);
     }
 
+    // Sin @Transactional: la solicitud solo se encola, la conexión la toma el trabajador al confirmar el grupo
+    @PostMapping(params = "async=true")
+    public ResponseEntity<Map<String, Object>> reservaAsincrona(
+            @Valid @RequestBody final DatosReservaConsulta datosReservaConsulta,
+            UriComponentsBuilder uriComponentsBuilder
+    ) {
+        DatosTicketReserva ticket = colaDeReservas.encolar(datosReservaConsulta);
+        URI url = uriComponentsBuilder.path("/consultas/tickets/{id}").buildAndExpand(ticket.ticket()).toUri();
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "ACCEPTED");
+        successResponse.put("message", "Reserva recibida, consulte el ticket para conocer el resultado.");
+        successResponse.put("ticket", ticket);
+
+        return ResponseEntity.accepted().location(url).body(successResponse);
+    }
+
+    @GetMapping("/tickets/{id}")
+    public ResponseEntity<DatosTicketReserva> ticket(@PathVariable final UUID id) {
+        return ResponseEntity.ok(colaDeReservas.consultar(id));
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<Map<String, Object>> reservaEnLote(@Valid @RequestBody final DatosReservaLote datosReservaLote) {
+        // Cada consulta del lote recibe su propio código; las aceptadas se insertan en batch
+        DatosResultadoReservaLote resultado = reservaEnLoteDeConsultas.reservar(datosReservaLote);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "BATCH_PROCESSED");
+        successResponse.put("message", "Lote de consultas procesado.");
+        successResponse.put("resultado", resultado);
+
+        return ResponseEntity.ok(successResponse);
+    }
+
 
 
     @DeleteMapping
@@ -56,4 +129,16 @@ public class ConsultaController {
         reservaDeConsultas.cancelar(datos);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping("/lote")
+    public ResponseEntity<Map<String, Object>> cancelaEnLote(@RequestBody @Valid DatosCancelamientoLote datos) {
+        DatosResultadoCancelamientoLote resultado = reservaDeConsultas.cancelarEnLote(datos);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "BATCH_CANCELLED");
+        successResponse.put("message", "Consultas canceladas exitosamente.");
+        successResponse.put("resultado", resultado);
+
+        return ResponseEntity.ok(successResponse);
+    }
 }
@@ -3,18 +3,32 @@ package med.voll.api.controller;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import med.voll.api.domain.CursorListado;
+import med.voll.api.domain.DatosDesactivacionLote;
+import med.voll.api.domain.DatosPaginaCursor;
+import med.voll.api.domain.importacion.DatosResultadoImportacion;
 import med.voll.api.domain.medico.*;
+import med.voll.api.infra.exportacion.ExportadorNdjson;
+import med.voll.api.infra.importacion.LectorDeImportacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/medicos")
@@ -23,11 +37,23 @@ public class MedicoController {
 
     private final MedicoService medicoService;
     private final MedicoRepository medicoRepository;
+    private final ExportadorNdjson exportadorNdjson;
+    private final LectorDeImportacion lectorDeImportacion;
+    private final ImportacionDeMedicos importacionDeMedicos;
+    private final BuscadorDeMedicos buscadorDeMedicos;
 
     public MedicoController(final MedicoService medicoService,
-                            final MedicoRepository medicoRepository) {
+                            final MedicoRepository medicoRepository,
+                            final ExportadorNdjson exportadorNdjson,
+                            final BuscadorDeMedicos buscadorDeMedicos,
+                            final LectorDeImportacion lectorDeImportacion,
+                            final ImportacionDeMedicos importacionDeMedicos) {
         this.medicoService = medicoService;
         this.medicoRepository = medicoRepository;
+        this.exportadorNdjson = exportadorNdjson;
+        this.lectorDeImportacion = lectorDeImportacion;
+        this.importacionDeMedicos = importacionDeMedicos;
+        this.buscadorDeMedicos = buscadorDeMedicos;
     }
 
     @GetMapping
@@ -38,7 +64,53 @@ public class MedicoController {
             )
             @PageableDefault(sort = "nombre") Pageable pageable
     ) {
-        return ResponseEntity.ok(medicoRepository.findByActivoTrue(pageable).map(DatosListadoMedico::new));
+        return ResponseEntity.ok(medicoRepository.buscarListado(pageable));
+    }
+
+    // Misma paginación por página pero sin el COUNT(*): responde si hay una página siguiente en lugar del total
+    @GetMapping(params = "total=false")
+    public ResponseEntity<Slice<DatosListadoMedico>> listaMedicosSinTotal(@PageableDefault(sort = "nombre") Pageable pageable) {
+        return ResponseEntity.ok(medicoRepository.buscarListadoSinTotal(pageable));
+    }
+
+    // Modo cursor: se activa con el parámetro cursor (vacío para la primera página) y pagina por (nombre, id)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoMedico>> listaMedicosPorCursor(
+            @RequestParam final String cursor,
+            @RequestParam(name = "tamano", defaultValue = "" + CursorListado.TAMANO_POR_DEFECTO) final int tamano
+    ) {
+        return ResponseEntity.ok(medicoService.listarPorCursor(cursor, tamano));
+    }
+
+    // Búsqueda por prefijo sobre nombre, especialidad y ciudad, resuelta en el índice en memoria
+    @GetMapping("/buscar")
+    public ResponseEntity<Page<DatosListadoMedico>> buscaMedicos(
+            @RequestParam(required = false) final String q,
+            @RequestParam(required = false) final Especialidad especialidad,
+            @RequestParam(required = false) final String ciudad,
+            @Parameter(schema = @Schema(example = "{}")) @PageableDefault Pageable pageable
+    ) {
+        return ResponseEntity.ok(buscadorDeMedicos.buscar(q, especialidad, ciudad, pageable));
+    }
+
+    // Exportación completa en NDJSON: las filas se escriben según llegan, con memoria constante
+    @GetMapping(value = "/export", produces = ExportadorNdjson.NDJSON)
+    public void exporta(HttpServletResponse response) throws IOException {
+        exportadorNdjson.exportar(medicoRepository::exportarListado, response);
+    }
+
+    // Alta masiva desde un arreglo JSON o un CSV con encabezado, leído en streaming; responde los errores por fila
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, LectorDeImportacion.CSV})
+    public ResponseEntity<Map<String, Object>> importa(HttpServletRequest request) throws IOException {
+        DatosResultadoImportacion resultado = importacionDeMedicos.importar(lectorDeImportacion.leer(
+                request.getInputStream(), request.getContentType(), DatosRegistroMedico.class, ImportacionDeMedicos::desdeCsv));
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "IMPORT_PROCESSED");
+        successResponse.put("message", "Importación de médicos procesada.");
+        successResponse.put("resultado", resultado);
+
+        return ResponseEntity.ok(successResponse);
     }
 
     @PostMapping
@@ -68,11 +140,47 @@ public class MedicoController {
         return ResponseEntity.ok(successResponse);
     }
 
+    // Actualización parcial: solo los campos informados, en un único UPDATE y sin volver a leer el médico
+    @PatchMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> actualizaParcialmenteMedico(@PathVariable Long id,
+                                                                           @Valid @RequestBody final DatosActualizaParcialMedico datos) {
+        int filasActualizadas = medicoService.actualizarParcialmente(id, datos);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "UPDATED");
+        successResponse.put("message", "Médico actualizado exitosamente.");
+        successResponse.put("id", id);
+        successResponse.put("filasActualizadas", filasActualizadas);
+
+        return ResponseEntity.ok(successResponse);
+    }
+
+    // Baja masiva para el proceso nocturno: un solo UPDATE para todos los ids
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> desactivaMedicos(@Valid @RequestBody final DatosDesactivacionLote datosDesactivacionLote) {
+        Set<Long> ids = new LinkedHashSet<>(datosDesactivacionLote.ids());
+        int desactivados = medicoService.desactivarMedicos(ids);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "DELETED");
+        successResponse.put("message", "Médicos desactivados exitosamente.");
+        successResponse.put("solicitados", ids.size());
+        successResponse.put("desactivados", desactivados);
+
+        return ResponseEntity.ok(successResponse);
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, String>> desactivaMedico(@PathVariable Long id) {
-        medicoService.desactivarMedico(id);
+    public ResponseEntity<Map<String, Object>> desactivaMedico(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "false") boolean cancelarConsultas) {
+        Map<String, Object> successResponse = new HashMap<>();
+
+        if (cancelarConsultas) {
+            successResponse.put("consultasCanceladas", medicoService.desactivarMedicoCancelandoConsultas(id));
+        } else {
+            medicoService.desactivarMedico(id);
+        }
 
-        Map<String, String> successResponse = new HashMap<>();
         successResponse.put("code", "DELETED");
         successResponse.put("message", "Médico desactivado exitosamente.");
 
@@ -81,8 +189,12 @@ public class MedicoController {
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<DatosRespuestaMedico> retornaDatosMedico(@PathVariable Long id) {
+    public ResponseEntity<DatosRespuestaMedico> retornaDatosMedico(@PathVariable Long id, WebRequest request) {
+        // ETag fuerte a partir de la versión del mismo cuerpo que se devuelve: nunca describen filas distintas
         DatosRespuestaMedico datosRespuestaMedico = medicoService.obtenerDatosMedicoPorId(id);
+        if (request.checkNotModified("\"" + datosRespuestaMedico.version() + "\"")) {
+            return null;
+        }
         return ResponseEntity.ok(datosRespuestaMedico);
     }
 
@@ -3,18 +3,32 @@ package med.voll.api.controller;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import med.voll.api.domain.CursorListado;
+import med.voll.api.domain.DatosDesactivacionLote;
+import med.voll.api.domain.DatosPaginaCursor;
+import med.voll.api.domain.importacion.DatosResultadoImportacion;
 import med.voll.api.domain.paciente.*;
+import med.voll.api.infra.exportacion.ExportadorNdjson;
+import med.voll.api.infra.importacion.LectorDeImportacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/pacientes")
@@ -23,10 +37,19 @@ public class PacienteController {
 
     private final PacienteService pacienteService;
     private final PacienteRepository pacienteRepository;
-
-    public PacienteController(final PacienteService pacienteService, final PacienteRepository pacienteRepository) {
+    private final ExportadorNdjson exportadorNdjson;
+    private final LectorDeImportacion lectorDeImportacion;
+    private final ImportacionDePacientes importacionDePacientes;
+
+    public PacienteController(final PacienteService pacienteService, final PacienteRepository pacienteRepository,
+                              final ExportadorNdjson exportadorNdjson,
+                              final LectorDeImportacion lectorDeImportacion,
+                              final ImportacionDePacientes importacionDePacientes) {
         this.pacienteService = pacienteService;
         this.pacienteRepository = pacienteRepository;
+        this.exportadorNdjson = exportadorNdjson;
+        this.lectorDeImportacion = lectorDeImportacion;
+        this.importacionDePacientes = importacionDePacientes;
     }
 
 
@@ -37,7 +60,42 @@ public class PacienteController {
             )
             @PageableDefault(sort = "nombre") Pageable pageable
     ) {
-        return ResponseEntity.ok(pacienteRepository.findByActivoTrue(pageable).map(DatosListadoPaciente::new));
+        return ResponseEntity.ok(pacienteRepository.buscarListado(pageable));
+    }
+
+    // Misma paginación por página pero sin el COUNT(*): responde si hay una página siguiente en lugar del total
+    @GetMapping(params = "total=false")
+    public ResponseEntity<Slice<DatosListadoPaciente>> listadoPacientesSinTotal(@PageableDefault(sort = "nombre") Pageable pageable) {
+        return ResponseEntity.ok(pacienteRepository.buscarListadoSinTotal(pageable));
+    }
+
+    // Modo cursor: se activa con el parámetro cursor (vacío para la primera página) y pagina por (nombre, id)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoPaciente>> listadoPacientesPorCursor(
+            @RequestParam final String cursor,
+            @RequestParam(name = "tamano", defaultValue = "" + CursorListado.TAMANO_POR_DEFECTO) final int tamano
+    ) {
+        return ResponseEntity.ok(pacienteService.listarPorCursor(cursor, tamano));
+    }
+
+    // Exportación completa en NDJSON: las filas se escriben según llegan, con memoria constante
+    @GetMapping(value = "/export", produces = ExportadorNdjson.NDJSON)
+    public void exporta(HttpServletResponse response) throws IOException {
+        exportadorNdjson.exportar(pacienteRepository::exportarListado, response);
+    }
+
+    // Alta masiva desde un arreglo JSON o un CSV con encabezado, leído en streaming; responde los errores por fila
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, LectorDeImportacion.CSV})
+    public ResponseEntity<Map<String, Object>> importa(HttpServletRequest request) throws IOException {
+        DatosResultadoImportacion resultado = importacionDePacientes.importar(lectorDeImportacion.leer(
+                request.getInputStream(), request.getContentType(), DatosRegistroPaciente.class, ImportacionDePacientes::desdeCsv));
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "IMPORT_PROCESSED");
+        successResponse.put("message", "Importación de pacientes procesada.");
+        successResponse.put("resultado", resultado);
+
+        return ResponseEntity.ok(successResponse);
     }
 
     @PostMapping
@@ -65,6 +123,36 @@ public class PacienteController {
         return ResponseEntity.ok(successResponse);
     }
 
+    // Actualización parcial: solo los campos informados, en un único UPDATE y sin volver a leer el paciente
+    @PatchMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> actualizaParcialmentePaciente(@PathVariable Long id,
+                                                                             @Valid @RequestBody final DatosActualizaParcialPaciente datos) {
+        int filasActualizadas = pacienteService.actualizarParcialmente(id, datos);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "UPDATED");
+        successResponse.put("message", "Paciente actualizado exitosamente.");
+        successResponse.put("id", id);
+        successResponse.put("filasActualizadas", filasActualizadas);
+
+        return ResponseEntity.ok(successResponse);
+    }
+
+    // Baja masiva para el proceso nocturno: un solo UPDATE para todos los ids
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> desactivaPacientes(@Valid @RequestBody final DatosDesactivacionLote datosDesactivacionLote) {
+        Set<Long> ids = new LinkedHashSet<>(datosDesactivacionLote.ids());
+        int desactivados = pacienteService.desactivarPacientes(ids);
+
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("code", "DELETED");
+        successResponse.put("message", "Pacientes desactivados exitosamente.");
+        successResponse.put("solicitados", ids.size());
+        successResponse.put("desactivados", desactivados);
+
+        return ResponseEntity.ok(successResponse);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> desactivaPaciente(@PathVariable Long id) {
         pacienteService.desactivarPaciente(id);
@@ -77,8 +165,12 @@ public class PacienteController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<DatosRespuestaPaciente> retornaDatosPaciente(@PathVariable Long id) {
-        DatosRespuestaPaciente datosRespuesta = pacienteService.obtenerPacientePorId(id);
-        return ResponseEntity.ok(datosRespuesta);
+    public ResponseEntity<DatosRespuestaPaciente> retornaDatosPaciente(@PathVariable Long id, WebRequest request) {
+        // ETag fuerte a partir de la versión del mismo cuerpo que se devuelve: nunca describen filas distintas
+        DatosRespuestaPaciente datosRespuestaPaciente = pacienteService.obtenerPacientePorId(id);
+        if (request.checkNotModified("\"" + datosRespuestaPaciente.version() + "\"")) {
+            return null;
+        }
+        return ResponseEntity.ok(datosRespuestaPaciente);
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package med.voll.api.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * UPDATE por id con solo las columnas informadas, armado con la Criteria API: sin SELECT previo,
+ * sin merge y sin reescribir las demás columnas. La versión se incrementa como lo haría Hibernate,
+ * así el ETag del recurso cambia.
+ */
+public final class ActualizacionParcial<E> {
+
+    private final EntityManager entityManager;
+    private final CriteriaBuilder criteriaBuilder;
+    private final CriteriaUpdate<E> update;
+    private final Root<E> raiz;
+    private boolean conCambios;
+
+    private ActualizacionParcial(final EntityManager entityManager, final Class<E> tipo) {
+        this.entityManager = entityManager;
+        this.criteriaBuilder = entityManager.getCriteriaBuilder();
+        this.update = criteriaBuilder.createCriteriaUpdate(tipo);
+        this.raiz = update.from(tipo);
+    }
+
+    public static <E> ActualizacionParcial<E> de(final EntityManager entityManager, final Class<E> tipo) {
+        return new ActualizacionParcial<>(entityManager, tipo);
+    }
+
+    // Un valor nulo es un campo no informado: no entra en el SET. Los embebidos se nombran con punto
+    public ActualizacionParcial<E> fijar(final String atributo, final Object valor) {
+        if (valor != null) {
+            update.set(ruta(atributo), valor);
+            conCambios = true;
+        }
+        return this;
+    }
+
+    public int ejecutar(final Object id) {
+        if (!conCambios) {
+            throw CodigoError.ERR_EMPTY_UPDATE.rechazo();
+        }
+        Path<Long> version = raiz.get("version");
+        update.set(version, criteriaBuilder.sum(version, 1L));
+        update.where(criteriaBuilder.equal(raiz.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private Path<Object> ruta(final String atributo) {
+        String[] partes = atributo.split("\\.");
+        Path<Object> ruta = raiz.get(partes[0]);
+        for (int i = 1; i < partes.length; i++) {
+            ruta = ruta.get(partes[i]);
+        }
+        return ruta;
+    }
+}
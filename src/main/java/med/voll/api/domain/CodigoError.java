@@ -0,0 +1,95 @@
+package med.voll.api.domain;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Registro único de los códigos de error de negocio: estado HTTP, mensaje y la excepción ya construida
+public enum CodigoError {
+
+    ERR_DUPLICATE_EMAIL(HttpStatus.CONFLICT, "Ya existe un registro con este correo."),
+    ERR_DUPLICATE_DOCUMENT(HttpStatus.CONFLICT, "Ya existe un registro con este documento."),
+    ERR_DATA_INTEGRITY(HttpStatus.CONFLICT, "La operación viola una restricción de integridad de los datos."),
+    ERR_ALREADY_INACTIVE(HttpStatus.CONFLICT, "El registro ya estaba desactivado."),
+    ERR_PATIENT_NOT_FOUND(HttpStatus.NOT_FOUND, "El paciente especificado no fue encontrado."),
+    ERR_MEDICAL_NOT_FOUND(HttpStatus.NOT_FOUND, "El médico especificado no fue encontrado."),
+    ERR_INVALID_REQUEST(HttpStatus.NOT_FOUND, "Los datos de la reserva son inválidos."),
+    INVALID_SPECIALTY(HttpStatus.NOT_FOUND, "La especialidad es inválida o está vacía."),
+    ERR_CANCELLATION_NOT_FOUND(HttpStatus.NOT_FOUND, "EL Id de la consulta informado no existe!"),
+    INVALID_CANCELLATION_REASON(HttpStatus.NOT_FOUND, "El motivo de la cancelación es inválido o está vacío."),
+    OUT_OF_BUSINESS_HOURS(HttpStatus.NOT_FOUND, "Fuera del horario de atención!"),
+    INSUFFICIENT_ANTICIPATION(HttpStatus.NOT_FOUND, "La consulta debe ser programada con al menos 30 minutos de anticipación"),
+    PATIENT_NOT_ACTIVE(HttpStatus.NOT_FOUND, "El paciente no está activo"),
+    MEDICAL_NOT_ACTIVE(HttpStatus.NOT_FOUND, "El médico no está disponible"),
+    DUPLICATE_APPOINTMENT(HttpStatus.NOT_FOUND, "El paciente ya tiene una consulta programada en el mismo día."),
+    MEDICAL_SCHEDULE_CONFLICT(HttpStatus.NOT_FOUND, "El médico ya tiene una consulta programada en este horario."),
+    ERR_MEDICAL_NOT_AVAILABLE(HttpStatus.NOT_FOUND, "El médico seleccionado no está disponible para la consulta."),
+    ERR_PATIENT_NOT_AVAILABLE(HttpStatus.NOT_FOUND, "El paciente seleccionado no está disponible para la consulta."),
+    ERR_NO_RANDOM_MEDICAL_AVAILABLE(HttpStatus.NOT_FOUND, "No hay médicos disponibles para la especialidad y fecha seleccionadas."),
+    ERR_SPECIALITY_REQUIRED(HttpStatus.BAD_REQUEST, "La especialidad es obligatoria."),
+    ERR_INVALID_DATE_RANGE(HttpStatus.BAD_REQUEST, "El rango de fechas es inválido o supera los 31 días."),
+    ERR_INVALID_CURSOR(HttpStatus.BAD_REQUEST, "El cursor de paginación es inválido."),
+    ERR_EMPTY_UPDATE(HttpStatus.BAD_REQUEST, "La solicitud no informa ningún campo para actualizar."),
+    ERR_TICKET_NOT_FOUND(HttpStatus.NOT_FOUND, "El ticket de reserva informado no existe o ya expiró."),
+    ERR_SCHEDULE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "El horario está siendo reservado por otra solicitud, inténtalo de nuevo en unos segundos."),
+    ERR_BOOKING_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "La cola de reservas está llena, inténtalo de nuevo en unos segundos."),
+    ERR_BOOKING_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo procesar la reserva."),
+    ERR_LOGOUT_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "No se puede cerrar la sesión en este momento, inténtalo de nuevo en unos minutos.");
+
+    private static final Map<String, CodigoError> POR_NOMBRE = new HashMap<>();
+
+    static {
+        for (CodigoError codigo : values()) {
+            POR_NOMBRE.put(codigo.name(), codigo);
+        }
+    }
+
+    private final HttpStatus estado;
+    private final String mensaje;
+    private final RechazoDeDominio rechazo;
+
+    CodigoError(final HttpStatus estado, final String mensaje) {
+        this.estado = estado;
+        this.mensaje = mensaje;
+        this.rechazo = new RechazoDeDominio(this);
+    }
+
+    public HttpStatus estado() {
+        return estado;
+    }
+
+    public String mensaje() {
+        return mensaje;
+    }
+
+    // Instancia compartida: sin traza ni suprimidas, lanzarla no reserva memoria
+    public RechazoDeDominio rechazo() {
+        return rechazo;
+    }
+
+    // Violación de una restricción con nombre (V8 y V13): el código de negocio que le corresponde
+    public static CodigoError deViolacionDeIntegridad(final DataIntegrityViolationException e) {
+        String mensaje = e.getMostSpecificCause().getMessage();
+        if (mensaje == null) {
+            return ERR_DATA_INTEGRITY;
+        }
+        if (mensaje.contains("uk_consultas_medico_fecha")) {
+            return MEDICAL_SCHEDULE_CONFLICT;
+        }
+        if (mensaje.contains("uk_medicos_email") || mensaje.contains("uk_pacientes_email")) {
+            return ERR_DUPLICATE_EMAIL;
+        }
+        if (mensaje.contains("uk_medicos_documento") || mensaje.contains("uk_pacientes_documento_identidad")) {
+            return ERR_DUPLICATE_DOCUMENT;
+        }
+        return ERR_DATA_INTEGRITY;
+    }
+
+    // Búsqueda por mensaje para las excepciones que aún llegan como texto
+    public static Optional<CodigoError> buscar(final String nombre) {
+        return nombre == null ? Optional.empty() : Optional.ofNullable(POR_NOMBRE.get(nombre));
+    }
+}
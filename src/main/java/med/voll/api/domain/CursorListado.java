@@ -0,0 +1,38 @@
+package med.voll.api.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posición (nombre, id) de la última fila entregada; viaja al cliente como texto opaco
+public record CursorListado(
+        String nombre,
+        Long id
+) {
+
+    public static final int TAMANO_POR_DEFECTO = 10;
+    public static final int TAMANO_MAXIMO = 2000;
+
+    public String codificar() {
+        // El id va primero porque nunca contiene el separador; el nombre puede contener cualquier cosa
+        String texto = id + ":" + nombre;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorListado decodificar(final String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(':');
+            if (separador < 1) {
+                throw CodigoError.ERR_INVALID_CURSOR.rechazo();
+            }
+            return new CursorListado(texto.substring(separador + 1), Long.valueOf(texto.substring(0, separador)));
+        } catch (IllegalArgumentException e) {
+            // Base64 inválido o id no numérico
+            throw CodigoError.ERR_INVALID_CURSOR.rechazo();
+        }
+    }
+
+    public static int tamanoValido(final int tamano) {
+        return Math.max(1, Math.min(tamano, TAMANO_MAXIMO));
+    }
+}
@@ -0,0 +1,15 @@
+package med.voll.api.domain;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Baja masiva: los ids viajan en un solo UPDATE ... WHERE id IN (...), de ahí el tope
+public record DatosDesactivacionLote(
+        @NotEmpty(message = "Debe informar al menos un id")
+        @Size(max = 1000, message = "No se pueden desactivar más de 1000 registros por solicitud")
+        List<@NotNull Long> ids
+) {
+}
@@ -0,0 +1,20 @@
+package med.voll.api.domain;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página por cursor: sin total ni número de página, solo el cursor para pedir la siguiente
+public record DatosPaginaCursor<T>(
+        List<T> contenido,
+        String siguiente
+) {
+
+    // Las filas llegan con una de más: si existe, hay otra página y el cursor apunta a la última entregada
+    public static <T> DatosPaginaCursor<T> de(final List<T> filas, final int tamano, final Function<T, CursorListado> posicion) {
+        if (filas.size() <= tamano) {
+            return new DatosPaginaCursor<>(filas, null);
+        }
+        List<T> contenido = filas.subList(0, tamano);
+        return new DatosPaginaCursor<>(List.copyOf(contenido), posicion.apply(contenido.get(tamano - 1)).codificar());
+    }
+}
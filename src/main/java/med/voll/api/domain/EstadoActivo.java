@@ -0,0 +1,8 @@
+package med.voll.api.domain;
+
+// Proyección mínima (id, activo) para verificar muchos registros en una sola consulta
+public record EstadoActivo(
+        Long id,
+        Boolean activo
+) {
+}
@@ -0,0 +1,31 @@
+package med.voll.api.domain;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca un bloque cuyas lecturas no pueden ver datos atrasados, aunque corra fuera de una transacción
+ * de escritura: la infraestructura lo envía a la base primaria y nunca a una réplica.
+ */
+public final class LecturaConsistente {
+
+    private static final ThreadLocal<Boolean> REQUERIDA = new ThreadLocal<>();
+
+    private LecturaConsistente() {
+    }
+
+    public static boolean requerida() {
+        return Boolean.TRUE.equals(REQUERIDA.get());
+    }
+
+    public static <T> T obtener(final Supplier<T> bloque) {
+        if (requerida()) {
+            return bloque.get();
+        }
+        REQUERIDA.set(Boolean.TRUE);
+        try {
+            return bloque.get();
+        } finally {
+            REQUERIDA.remove();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package med.voll.api.domain;
+
+// Rechazo esperado de una regla de negocio: sin traza de pila, el código basta para responder
+public class RechazoDeDominio extends RuntimeException {
+
+    private final transient CodigoError codigo;
+
+    RechazoDeDominio(final CodigoError codigo) {
+        super(codigo.name(), null, false, false);
+        this.codigo = codigo;
+    }
+
+    public CodigoError codigo() {
+        return codigo;
+    }
+}
@@ -0,0 +1,48 @@
+package med.voll.api.domain.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * Caché acotada en memoria para lecturas por id que cambian poco.
+ * La política de desalojo se elige con {@code api.cache.politica}: {@code w-tinylfu} (Caffeine) o {@code lru}.
+ */
+public interface CacheLocal<K, V> {
+
+    // Si la carga lanza una excepción no se guarda nada y la excepción llega al llamador
+    V obtener(K clave, Function<? super K, ? extends V> cargar);
+
+    void quitar(K clave);
+
+    long aciertos();
+
+    long fallos();
+
+    long desalojos();
+
+    /**
+     * Quita la entrada ya y otra vez al confirmar la transacción: una lectura concurrente pudo
+     * volver a cargar la fila vieja antes del commit.
+     */
+    default void invalidar(final K clave) {
+        quitar(clave);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    quitar(clave);
+                }
+            });
+        }
+    }
+
+    static <K, V> CacheLocal<K, V> crear(final String politica, final int tamanoMaximo) {
+        return switch (politica) {
+            case "w-tinylfu" -> new CacheLocalCaffeine<>(tamanoMaximo);
+            case "lru" -> new CacheLocalLru<>(tamanoMaximo);
+            default -> throw new IllegalArgumentException("Política de caché desconocida: " + politica);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package med.voll.api.domain.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.function.Function;
+
+// W-TinyLFU: una ráfaga de ids leídos una sola vez no desplaza a los médicos y pacientes frecuentes
+class CacheLocalCaffeine<K, V> implements CacheLocal<K, V> {
+
+    private final Cache<K, V> cache;
+
+    CacheLocalCaffeine(final int tamanoMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public V obtener(final K clave, final Function<? super K, ? extends V> cargar) {
+        // La carga es atómica por clave: quitar() sobre la misma clave espera a que termine
+        return cache.get(clave, cargar);
+    }
+
+    @Override
+    public void quitar(final K clave) {
+        cache.invalidate(clave);
+    }
+
+    @Override
+    public long aciertos() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long fallos() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public long desalojos() {
+        return cache.stats().evictionCount();
+    }
+}
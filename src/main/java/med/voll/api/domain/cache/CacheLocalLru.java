@@ -0,0 +1,77 @@
+package med.voll.api.domain.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// LRU por tamaño sobre un LinkedHashMap en orden de acceso; la carga corre fuera del candado
+class CacheLocalLru<K, V> implements CacheLocal<K, V> {
+
+    private final Map<K, V> entradas;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    // Cada quitar() avanza la generación; una carga iniciada antes no se guarda
+    private final AtomicLong generacion = new AtomicLong();
+
+    CacheLocalLru(final int tamanoMaximo) {
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> mayor) {
+                boolean desalojar = size() > tamanoMaximo;
+                if (desalojar) {
+                    desalojos.increment();
+                }
+                return desalojar;
+            }
+        };
+    }
+
+    @Override
+    public V obtener(final K clave, final Function<? super K, ? extends V> cargar) {
+        long generacionInicial;
+        synchronized (entradas) {
+            V valor = entradas.get(clave);
+            if (valor != null) {
+                aciertos.increment();
+                return valor;
+            }
+            generacionInicial = generacion.get();
+        }
+
+        fallos.increment();
+        V cargado = cargar.apply(clave);
+        synchronized (entradas) {
+            if (cargado != null && generacion.get() == generacionInicial) {
+                entradas.put(clave, cargado);
+            }
+        }
+        return cargado;
+    }
+
+    @Override
+    public void quitar(final K clave) {
+        synchronized (entradas) {
+            generacion.incrementAndGet();
+            entradas.remove(clave);
+        }
+    }
+
+    @Override
+    public long aciertos() {
+        return aciertos.sum();
+    }
+
+    @Override
+    public long fallos() {
+        return fallos.sum();
+    }
+
+    @Override
+    public long desalojos() {
+        return desalojos.sum();
+    }
+}
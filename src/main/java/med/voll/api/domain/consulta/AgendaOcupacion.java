@@ -0,0 +1,141 @@
+package med.voll.api.domain.consulta;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice en memoria de los horarios ocupados de cada médico.
+ * Por cada médico y día guarda un bitmap de minutos (1440 bits = 23 longs), de modo que
+ * las verificaciones de conflicto se responden sin ir a la base de datos.
+ */
+@Component
+public class AgendaOcupacion {
+
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+    private static final int PALABRAS_POR_DIA = (MINUTOS_POR_DIA + Long.SIZE - 1) / Long.SIZE;
+
+    private final ConsultaRepository consultaRepository;
+
+    // idMedico -> (día -> minutos ocupados)
+    private final Map<Long, Map<LocalDate, AtomicLongArray>> ocupacion = new ConcurrentHashMap<>();
+
+    // idMedico -> cantidad de horarios ocupados dentro del índice (carga de trabajo pendiente)
+    private final Map<Long, LongAdder> consultasPorMedico = new ConcurrentHashMap<>();
+
+    // Las fechas anteriores a este día no están en el índice y se consultan en la base de datos
+    private volatile LocalDate primerDiaIndexado;
+
+    public AgendaOcupacion(final ConsultaRepository consultaRepository) {
+        this.consultaRepository = consultaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        LocalDate hoy = LocalDate.now();
+        consultaRepository.buscarSlotsOcupadosDesde(hoy.atStartOfDay())
+                .forEach(slot -> marcar(slot.idMedico(), slot.fecha()));
+        primerDiaIndexado = hoy;
+    }
+
+    public boolean estaCargada() {
+        return primerDiaIndexado != null;
+    }
+
+    public boolean estaOcupado(final Long idMedico, final LocalDateTime fecha) {
+        if (idMedico == null || fecha == null) {
+            return false;
+        }
+
+        LocalDate primerDia = primerDiaIndexado;
+        if (primerDia == null || fecha.toLocalDate().isBefore(primerDia)) {
+            return consultaRepository.existsByMedicoIdAndFecha(idMedico, fecha);
+        }
+
+        Map<LocalDate, AtomicLongArray> dias = ocupacion.get(idMedico);
+        AtomicLongArray minutos = dias != null ? dias.get(fecha.toLocalDate()) : null;
+        if (minutos == null) {
+            return false;
+        }
+
+        int minuto = minutoDelDia(fecha);
+        return (minutos.get(minuto / Long.SIZE) & (1L << (minuto % Long.SIZE))) != 0;
+    }
+
+    public long consultasReservadas(final Long idMedico) {
+        LongAdder contador = consultasPorMedico.get(idMedico);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    // Marca el horario como ocupado cuando la transacción que insertó la consulta confirma
+    public void registrar(final Long idMedico, final LocalDateTime fecha) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            marcar(idMedico, fecha);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                marcar(idMedico, fecha);
+            }
+        });
+    }
+
+    // Los días pasados ya no se pueden reservar, así que se descartan del índice cada noche
+    @Scheduled(cron = "0 5 0 * * *")
+    public void purgarDiasPasados() {
+        if (!estaCargada()) {
+            return;
+        }
+
+        LocalDate hoy = LocalDate.now();
+        primerDiaIndexado = hoy;
+        ocupacion.forEach((idMedico, dias) -> dias.entrySet().removeIf(dia -> {
+            if (!dia.getKey().isBefore(hoy)) {
+                return false;
+            }
+            contador(idMedico).add(-horariosOcupados(dia.getValue()));
+            return true;
+        }));
+    }
+
+    private void marcar(final Long idMedico, final LocalDateTime fecha) {
+        AtomicLongArray minutos = ocupacion
+                .computeIfAbsent(idMedico, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fecha.toLocalDate(), dia -> new AtomicLongArray(PALABRAS_POR_DIA));
+
+        int minuto = minutoDelDia(fecha);
+        long bit = 1L << (minuto % Long.SIZE);
+        long anterior = minutos.getAndAccumulate(minuto / Long.SIZE, bit, (actual, mascara) -> actual | mascara);
+        if ((anterior & bit) == 0) {
+            contador(idMedico).increment();
+        }
+    }
+
+    private LongAdder contador(final Long idMedico) {
+        return consultasPorMedico.computeIfAbsent(idMedico, id -> new LongAdder());
+    }
+
+    private static long horariosOcupados(final AtomicLongArray minutos) {
+        long total = 0;
+        for (int i = 0; i < minutos.length(); i++) {
+            total += Long.bitCount(minutos.get(i));
+        }
+        return total;
+    }
+
+    private static int minutoDelDia(final LocalDateTime fecha) {
+        return fecha.getHour() * 60 + fecha.getMinute();
+    }
+}
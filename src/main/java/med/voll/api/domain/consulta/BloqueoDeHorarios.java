@@ -0,0 +1,64 @@
+package med.voll.api.domain.consulta;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloqueos por horario (médico, fecha) repartidos en franjas: dos reservas del mismo horario
+ * se serializan, mientras que horarios distintos casi nunca comparten franja.
+ * El bloqueo se mantiene hasta que termina la transacción, así la agenda ya está marcada
+ * cuando entra la siguiente reserva. La restricción única de la tabla es la red de seguridad.
+ * Una franja ocupada no dice nada del horario: por eso el rechazo es ERR_SCHEDULE_BUSY, que se puede reintentar.
+ */
+@Component
+public class BloqueoDeHorarios {
+
+    private static final int FRANJAS = 1024; // potencia de 2
+
+    private final ReentrantLock[] franjas = new ReentrantLock[FRANJAS];
+
+    public BloqueoDeHorarios() {
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Sin espera: quien ya tiene otras franjas (un lote, un grupo) no las pide en orden, y esperar podría cerrar un ciclo.
+     * Devuelve false si otra transacción tiene la franja.
+     */
+    public boolean intentarBloquearHastaFinDeTransaccion(final Long idMedico, final LocalDateTime fecha) {
+        verificarTransaccion();
+        ReentrantLock lock = franjas[franja(idMedico, fecha)];
+        if (!lock.tryLock()) {
+            return false;
+        }
+        liberarAlTerminar(lock);
+        return true;
+    }
+
+    private static void verificarTransaccion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo de horarios requiere una transacción activa");
+        }
+    }
+
+    private static void liberarAlTerminar(final ReentrantLock lock) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static int franja(final Long idMedico, final LocalDateTime fecha) {
+        int hash = Objects.hash(idMedico, fecha);
+        return (hash ^ (hash >>> 16)) & (FRANJAS - 1);
+    }
+}
@@ -0,0 +1,40 @@
+package med.voll.api.domain.consulta;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class CargadorContextoReserva {
+
+    private final ConsultaRepository consultaRepository;
+    private final AgendaOcupacion agendaOcupacion;
+
+    public CargadorContextoReserva(final ConsultaRepository consultaRepository, final AgendaOcupacion agendaOcupacion) {
+        this.consultaRepository = consultaRepository;
+        this.agendaOcupacion = agendaOcupacion;
+    }
+
+    public ContextoReserva cargar(final DatosReservaConsulta datosReservaConsulta) {
+        var primerHorario = datosReservaConsulta.fecha().withHour(7);
+        var ultimoHorario = datosReservaConsulta.fecha().withHour(18);
+
+        // Un único viaje a la base: estado del médico, del paciente y consultas del paciente en el día
+        FilaContextoReserva fila = consultaRepository.cargarContextoReserva(
+                datosReservaConsulta.idMedico(),
+                datosReservaConsulta.idPaciente(),
+                primerHorario,
+                ultimoHorario
+        );
+
+        return new ContextoReserva(
+                comoBoolean(fila.getMedicoActivo()),
+                comoBoolean(fila.getPacienteActivo()),
+                Boolean.TRUE.equals(comoBoolean(fila.getPacienteConConsultaEnElDia())),
+                // El conflicto de horario del médico lo responde la agenda en memoria
+                agendaOcupacion.estaOcupado(datosReservaConsulta.idMedico(), datosReservaConsulta.fecha())
+        );
+    }
+
+    private static Boolean comoBoolean(final Long valor) {
+        return valor == null ? null : valor != 0;
+    }
+}
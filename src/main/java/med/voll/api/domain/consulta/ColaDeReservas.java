@@ -0,0 +1,176 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.annotation.PreDestroy;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.RechazoDeDominio;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reserva asíncrona: las solicitudes se encolan y un único trabajador las confirma en grupos,
+ * una transacción por grupo, de modo que un pico de reservas no retiene un hilo de Tomcat
+ * ni una conexión de Hikari por cada solicitud.
+ */
+@Component
+public class ColaDeReservas {
+
+    // Los tickets resueltos se conservan este tiempo para que el cliente consulte el resultado
+    private static final Duration RETENCION_TICKETS = Duration.ofHours(1);
+
+    private final ReservaDeConsultas reservaDeConsultas;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoGrupo;
+    private final BlockingQueue<SolicitudReserva> cola;
+    private final Map<UUID, EntradaTicket> tickets = new ConcurrentHashMap<>();
+
+    private volatile Thread trabajador;
+
+    public ColaDeReservas(final ReservaDeConsultas reservaDeConsultas,
+                          final PlatformTransactionManager transactionManager,
+                          @Value("${api.consultas.async.tamano-grupo:50}") final int tamanoGrupo,
+                          @Value("${api.consultas.async.capacidad-cola:10000}") final int capacidadCola) {
+        this.reservaDeConsultas = reservaDeConsultas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoGrupo = tamanoGrupo;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+    }
+
+    public DatosTicketReserva encolar(final DatosReservaConsulta datosReservaConsulta) {
+        if (datosReservaConsulta == null) {
+            throw CodigoError.ERR_INVALID_REQUEST.rechazo();
+        }
+
+        var ticket = DatosTicketReserva.pendiente(UUID.randomUUID(), datosReservaConsulta.fecha());
+        tickets.put(ticket.ticket(), new EntradaTicket(ticket, Instant.now()));
+
+        // Cola acotada: si está llena se rechaza enseguida en lugar de acumular memoria
+        if (!cola.offer(new SolicitudReserva(ticket.ticket(), datosReservaConsulta))) {
+            tickets.remove(ticket.ticket());
+            throw CodigoError.ERR_BOOKING_QUEUE_FULL.rechazo();
+        }
+        return ticket;
+    }
+
+    public DatosTicketReserva consultar(final UUID ticket) {
+        EntradaTicket entrada = tickets.get(ticket);
+        if (entrada == null) {
+            throw CodigoError.ERR_TICKET_NOT_FOUND.rechazo();
+        }
+        return entrada.datos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        trabajador = Thread.ofVirtual().name("reservas-asincronas").start(this::atender);
+    }
+
+    @PreDestroy
+    void detener() {
+        if (trabajador != null) {
+            trabajador.interrupt();
+        }
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void purgarTicketsResueltos() {
+        Instant limite = Instant.now().minus(RETENCION_TICKETS);
+        tickets.values().removeIf(entrada ->
+                entrada.datos().estado() != EstadoTicket.PENDIENTE && entrada.actualizado().isBefore(limite));
+    }
+
+    private void atender() {
+        List<SolicitudReserva> grupo = new ArrayList<>(tamanoGrupo);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                grupo.add(cola.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Lo que se acumuló mientras se procesaba el grupo anterior entra en el siguiente
+            cola.drainTo(grupo, tamanoGrupo - 1);
+            procesarGrupo(grupo);
+            grupo.clear();
+        }
+    }
+
+    private void procesarGrupo(final List<SolicitudReserva> grupo) {
+        Map<UUID, DatosTicketReserva> resultados = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                Map<LocalDateTime, Set<Long>> ocupadosDelGrupo = new HashMap<>();
+                grupo.forEach(solicitud -> resultados.put(solicitud.ticket(), reservarDentroDelGrupo(solicitud, ocupadosDelGrupo)));
+            });
+        } catch (RuntimeException e) {
+            // Un error de base invalida el grupo completo: cada solicitud se reintenta en su propia transacción
+            grupo.forEach(solicitud -> actualizar(reservarIndividualmente(solicitud)));
+            return;
+        }
+
+        // Los tickets se publican después del commit: un RESERVADA nunca precede a su fila
+        resultados.values().forEach(this::actualizar);
+    }
+
+    private DatosTicketReserva reservarDentroDelGrupo(final SolicitudReserva solicitud,
+                                                      final Map<LocalDateTime, Set<Long>> ocupadosDelGrupo) {
+        var datos = solicitud.datos();
+        Set<Long> ocupados = ocupadosDelGrupo.computeIfAbsent(datos.fecha(), fecha -> new HashSet<>());
+        try {
+            // La agenda se actualiza al confirmar, así que los conflictos dentro del grupo se detectan aquí
+            if (datos.idMedico() != null && ocupados.contains(datos.idMedico())) {
+                throw CodigoError.MEDICAL_SCHEDULE_CONFLICT.rechazo();
+            }
+
+            // Sin médico elegido, la estrategia no debe volver a sortear uno que el grupo ya ocupó en esa fecha
+            Consulta consulta = reservaDeConsultas.reservar(datos, Set.copyOf(ocupados));
+            ocupados.add(consulta.getMedico().getId());
+            return DatosTicketReserva.reservada(solicitud.ticket(), consulta);
+        } catch (RechazoDeDominio rechazo) {
+            return DatosTicketReserva.rechazada(solicitud.ticket(), rechazo.codigo().name(), datos.fecha());
+        }
+    }
+
+    private DatosTicketReserva reservarIndividualmente(final SolicitudReserva solicitud) {
+        var datos = solicitud.datos();
+        try {
+            return DatosTicketReserva.reservada(solicitud.ticket(), reservaDeConsultas.reservar(datos));
+        } catch (RechazoDeDominio rechazo) {
+            return DatosTicketReserva.rechazada(solicitud.ticket(), rechazo.codigo().name(), datos.fecha());
+        } catch (DataIntegrityViolationException e) {
+            CodigoError codigo = CodigoError.deViolacionDeIntegridad(e);
+            return DatosTicketReserva.rechazada(solicitud.ticket(), codigo.name(), datos.fecha());
+        } catch (RuntimeException e) {
+            return DatosTicketReserva.rechazada(solicitud.ticket(), CodigoError.ERR_BOOKING_FAILED.name(), datos.fecha());
+        }
+    }
+
+    private void actualizar(final DatosTicketReserva ticket) {
+        tickets.put(ticket.ticket(), new EntradaTicket(ticket, Instant.now()));
+    }
+
+    private record SolicitudReserva(UUID ticket, DatosReservaConsulta datos) {
+    }
+
+    private record EntradaTicket(DatosTicketReserva datos, Instant actualizado) {
+    }
+}
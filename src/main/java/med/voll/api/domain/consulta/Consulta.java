@@ -13,7 +13,7 @@ import med.voll.api.domain.paciente.Paciente;
 import java.io.IOException;
 import java.time.LocalDateTime;
 
-@Table(name = "consultas")
+@Table(name = "consultas", uniqueConstraints = @UniqueConstraint(name = "uk_consultas_medico_fecha", columnNames = {"medico_id", "fecha"}))
 @Entity(name = "Consulta")
 @Getter
 @NoArgsConstructor(force = true)
@@ -21,7 +21,10 @@ import java.time.LocalDateTime;
 public class Consulta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Bloques de 50 ids desde la tabla secuencias: la reserva en lote agrupa sus INSERT
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "secuencia_consultas")
+    @TableGenerator(name = "secuencia_consultas", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "siguiente", pkColumnValue = "consultas", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
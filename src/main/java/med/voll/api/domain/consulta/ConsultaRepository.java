@@ -1,8 +1,17 @@
 package med.voll.api.domain.consulta;
 
+import jakarta.persistence.QueryHint;
+import med.voll.api.domain.medico.Especialidad;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
 
@@ -10,4 +19,72 @@ public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
 
     boolean existsByMedicoIdAndFecha(Long idMedico, LocalDateTime fecha);
 
+    // Solo trae (medico_id, fecha) para poblar la agenda en memoria sin hidratar entidades
+    @Query("""
+            SELECT new med.voll.api.domain.consulta.SlotOcupado(c.medico.id, c.fecha)
+            FROM Consulta c
+            WHERE c.fecha >= :desde
+            """)
+    List<SlotOcupado> buscarSlotsOcupadosDesde(LocalDateTime desde);
+
+    // Un único recorrido ordenado por (medico_id, fecha) para cruzarlo con la grilla de horarios
+    @Query("""
+            SELECT new med.voll.api.domain.consulta.SlotOcupado(c.medico.id, c.fecha)
+            FROM Consulta c
+            WHERE c.medico.especialidad = :especialidad
+            AND c.fecha BETWEEN :desde AND :hasta
+            ORDER BY c.medico.id, c.fecha
+            """)
+    List<SlotOcupado> buscarSlotsOcupadosPorEspecialidadEntre(Especialidad especialidad, LocalDateTime desde, LocalDateTime hasta);
+
+    @Query("""
+            SELECT new med.voll.api.domain.consulta.ConsultaPaciente(c.paciente.id, c.fecha)
+            FROM Consulta c
+            WHERE c.paciente.id IN :idsPacientes
+            AND c.fecha BETWEEN :desde AND :hasta
+            """)
+    List<ConsultaPaciente> buscarConsultasDePacientesEntre(Collection<Long> idsPacientes, LocalDateTime desde, LocalDateTime hasta);
+
+    @Query(value = """
+            SELECT
+                (SELECT m.activo + 0 FROM medicos m WHERE m.id = :idMedico) AS medicoActivo,
+                (SELECT p.activo + 0 FROM pacientes p WHERE p.id = :idPaciente) AS pacienteActivo,
+                EXISTS (
+                    SELECT 1 FROM consultas c
+                    WHERE c.paciente_id = :idPaciente
+                    AND c.fecha BETWEEN :primerHorario AND :ultimoHorario
+                ) AS pacienteConConsultaEnElDia
+            """, nativeQuery = true)
+    FilaContextoReserva cargarContextoReserva(Long idMedico, Long idPaciente, LocalDateTime primerHorario, LocalDateTime ultimoHorario);
+
+    // Cancelación por id en un solo UPDATE, sin leer la entidad antes
+    @Modifying
+    @Query("""
+            UPDATE Consulta c
+            SET c.motivoCancelamiento = :motivo
+            WHERE c.id = :idConsulta
+            """)
+    int cancelar(Long idConsulta, MotivoCancelamiento motivo);
+
+    // Cancelación por conjunto: todas las consultas del médico y/o paciente dentro del rango
+    @Modifying
+    @Query("""
+            UPDATE Consulta c
+            SET c.motivoCancelamiento = :motivo
+            WHERE (:idMedico IS NULL OR c.medico.id = :idMedico)
+            AND (:idPaciente IS NULL OR c.paciente.id = :idPaciente)
+            AND c.fecha >= :desde
+            AND (:hasta IS NULL OR c.fecha < :hasta)
+            """)
+    int cancelarEntre(Long idMedico, Long idPaciente, LocalDateTime desde, LocalDateTime hasta, MotivoCancelamiento motivo);
+
+    // Exportación: cursor de solo avance sobre la misma proyección del listado, sin cargar todo en memoria
+    // Con MySQL, un fetch size de Integer.MIN_VALUE hace que el driver entregue las filas una a una
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT new med.voll.api.domain.consulta.DatosDetalleConsulta(c.id, c.medico.id, c.paciente.id, c.fecha)
+            FROM Consulta c
+            ORDER BY c.id
+            """)
+    Stream<DatosDetalleConsulta> exportarListado();
 }
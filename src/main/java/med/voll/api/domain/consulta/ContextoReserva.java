@@ -0,0 +1,29 @@
+package med.voll.api.domain.consulta;
+
+/**
+ * Todo lo que las validaciones de una reserva necesitan saber, cargado de una sola vez.
+ * {@code medicoActivo} y {@code pacienteActivo} son null cuando el registro no existe.
+ */
+public record ContextoReserva(
+        Boolean medicoActivo,
+        Boolean pacienteActivo,
+        boolean pacienteConConsultaEnElDia,
+        boolean medicoConConsultaEnElHorario
+) {
+
+    public boolean medicoExiste() {
+        return medicoActivo != null;
+    }
+
+    public boolean medicoEstaActivo() {
+        return Boolean.TRUE.equals(medicoActivo);
+    }
+
+    public boolean pacienteExiste() {
+        return pacienteActivo != null;
+    }
+
+    public boolean pacienteEstaActivo() {
+        return Boolean.TRUE.equals(pacienteActivo);
+    }
+}
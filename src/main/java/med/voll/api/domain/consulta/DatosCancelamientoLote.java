@@ -0,0 +1,20 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public record DatosCancelamientoLote(
+        @JsonAlias("medico_id") Long idMedico,
+        @JsonAlias("paciente_id") Long idPaciente,
+        // Sin desde se toma el momento actual: solo se cancelan consultas futuras
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime desde,
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime hasta,
+        @NotNull(message = "Debe seleccionar una cancelacion válida")
+        MotivoCancelamiento motivo
+) {
+}
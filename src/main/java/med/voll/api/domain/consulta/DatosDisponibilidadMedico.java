@@ -0,0 +1,14 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DatosDisponibilidadMedico(
+        Long idMedico,
+        String nombre,
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        List<LocalDateTime> horariosLibres
+) {
+}
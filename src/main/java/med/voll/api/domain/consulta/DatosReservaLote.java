@@ -0,0 +1,15 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DatosReservaLote(
+        @NotEmpty(message = "El lote debe contener al menos una consulta")
+        @Size(max = 1000, message = "El lote no puede superar las 1000 consultas")
+        @Valid
+        List<DatosReservaConsulta> consultas
+) {
+}
@@ -0,0 +1,4 @@
+package med.voll.api.domain.consulta;
+
+public record DatosResultadoCancelamientoLote(int canceladas) {
+}
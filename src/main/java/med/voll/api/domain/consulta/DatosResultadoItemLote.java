@@ -0,0 +1,14 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record DatosResultadoItemLote(
+        int indice,
+        String code,
+        Long idMedico,
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime fecha
+) {
+}
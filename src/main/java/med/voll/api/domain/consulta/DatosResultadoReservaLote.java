@@ -0,0 +1,10 @@
+package med.voll.api.domain.consulta;
+
+import java.util.List;
+
+public record DatosResultadoReservaLote(
+        int total,
+        int reservadas,
+        List<DatosResultadoItemLote> resultados
+) {
+}
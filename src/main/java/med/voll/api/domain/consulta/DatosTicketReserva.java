@@ -0,0 +1,29 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DatosTicketReserva(
+        UUID ticket,
+        EstadoTicket estado,
+        String code,
+        Long idConsulta,
+        Long idMedico,
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime fecha
+) {
+
+    public static DatosTicketReserva pendiente(final UUID ticket, final LocalDateTime fecha) {
+        return new DatosTicketReserva(ticket, EstadoTicket.PENDIENTE, "PENDING", null, null, fecha);
+    }
+
+    public static DatosTicketReserva reservada(final UUID ticket, final Consulta consulta) {
+        return new DatosTicketReserva(ticket, EstadoTicket.RESERVADA, "CREATED", consulta.getId(), consulta.getMedico().getId(), consulta.getFecha());
+    }
+
+    public static DatosTicketReserva rechazada(final UUID ticket, final String code, final LocalDateTime fecha) {
+        return new DatosTicketReserva(ticket, EstadoTicket.RECHAZADA, code, null, null, fecha);
+    }
+}
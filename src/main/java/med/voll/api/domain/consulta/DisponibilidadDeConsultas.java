@@ -0,0 +1,95 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.consulta.validaciones.ValidadorConsultaConAnticipacion;
+import med.voll.api.domain.consulta.validaciones.ValidadorFueraHorarioConsultas;
+import med.voll.api.domain.medico.DatosIdentificacionMedico;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class DisponibilidadDeConsultas {
+
+    // Las consultas duran una hora: la grilla va de la apertura hasta la última consulta del día
+    private static final long HORAS_POR_CONSULTA = 1;
+    private static final long MAXIMO_DIAS_CONSULTADOS = 31;
+
+    private final ConsultaRepository consultaRepository;
+    private final MedicoRepository medicoRepository;
+
+    public DisponibilidadDeConsultas(final ConsultaRepository consultaRepository, final MedicoRepository medicoRepository) {
+        this.consultaRepository = consultaRepository;
+        this.medicoRepository = medicoRepository;
+    }
+
+    public List<DatosDisponibilidadMedico> buscarHorariosLibres(final Especialidad especialidad, final LocalDate desde, final LocalDate hasta) {
+        if (especialidad == null) {
+            throw CodigoError.ERR_SPECIALITY_REQUIRED.rechazo();
+        }
+        if (desde == null || hasta == null || hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= MAXIMO_DIAS_CONSULTADOS) {
+            throw CodigoError.ERR_INVALID_DATE_RANGE.rechazo();
+        }
+
+        List<LocalDateTime> grilla = grillaDeHorarios(desde, hasta, LocalDateTime.now());
+        List<DatosIdentificacionMedico> medicos = medicoRepository.buscarActivosPorEspecialidadOrdenadosPorId(especialidad);
+        if (grilla.isEmpty() || medicos.isEmpty()) {
+            return List.of();
+        }
+
+        // Ambas listas vienen ordenadas por médico, así que se cruzan en una sola pasada
+        List<SlotOcupado> ocupados = consultaRepository.buscarSlotsOcupadosPorEspecialidadEntre(
+                especialidad, grilla.get(0), grilla.get(grilla.size() - 1));
+
+        List<DatosDisponibilidadMedico> disponibilidad = new ArrayList<>(medicos.size());
+        int cursor = 0;
+        for (DatosIdentificacionMedico medico : medicos) {
+            // Consultas de médicos que no están en la lista (inactivos) se saltan
+            while (cursor < ocupados.size() && ocupados.get(cursor).idMedico() < medico.id()) {
+                cursor++;
+            }
+
+            List<LocalDateTime> libres = new ArrayList<>();
+            for (LocalDateTime horario : grilla) {
+                while (cursor < ocupados.size()
+                        && ocupados.get(cursor).idMedico().equals(medico.id())
+                        && ocupados.get(cursor).fecha().isBefore(horario)) {
+                    cursor++;
+                }
+
+                boolean ocupado = cursor < ocupados.size()
+                        && ocupados.get(cursor).idMedico().equals(medico.id())
+                        && ocupados.get(cursor).fecha().isEqual(horario);
+                if (!ocupado) {
+                    libres.add(horario);
+                }
+            }
+
+            disponibilidad.add(new DatosDisponibilidadMedico(medico.id(), medico.nombre(), libres));
+        }
+        return disponibilidad;
+    }
+
+    // Horarios reservables según las mismas reglas que aplican los validadores de la reserva
+    private static List<LocalDateTime> grillaDeHorarios(final LocalDate desde, final LocalDate hasta, final LocalDateTime ahora) {
+        List<LocalDateTime> grilla = new ArrayList<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            for (LocalDateTime horario = dia.atTime(ValidadorFueraHorarioConsultas.HORA_APERTURA_CLINICA, 0);
+                 horario.toLocalDate().equals(dia);
+                 horario = horario.plusHours(HORAS_POR_CONSULTA)) {
+
+                if (ValidadorFueraHorarioConsultas.dentroDelHorario(horario)
+                        && ValidadorConsultaConAnticipacion.conAnticipacionSuficiente(horario, ahora)) {
+                    grilla.add(horario);
+                }
+            }
+        }
+        return grilla;
+    }
+}
@@ -0,0 +1,8 @@
+package med.voll.api.domain.consulta;
+
+public enum EstadoTicket {
+
+    PENDIENTE,
+    RESERVADA,
+    RECHAZADA
+}
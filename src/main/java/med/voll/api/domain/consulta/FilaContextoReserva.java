@@ -0,0 +1,11 @@
+package med.voll.api.domain.consulta;
+
+// Proyección de la consulta nativa que arma el contexto de reserva; MySQL devuelve los flags como números
+public interface FilaContextoReserva {
+
+    Long getMedicoActivo();
+
+    Long getPacienteActivo();
+
+    Long getPacienteConConsultaEnElDia();
+}
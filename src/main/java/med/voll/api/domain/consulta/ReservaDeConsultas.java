@@ -1,98 +1,162 @@
 package med.voll.api.domain.consulta;
 
-import med.voll.api.domain.consulta.validaciones.ValidadorDeConsultas;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.RechazoDeDominio;
+import med.voll.api.domain.consulta.seleccion.EstrategiaSeleccionMedico;
+import med.voll.api.domain.consulta.validaciones.EjecutorDeValidaciones;
 import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.medico.MedicoRepository;
 import med.voll.api.domain.paciente.Paciente;
 import med.voll.api.domain.paciente.PacienteRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Random;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ReservaDeConsultas {
 
+    // Médicos a probar si el elegido resulta ocupado al tomar el bloqueo de su horario
+    private static final int MAXIMO_INTENTOS_ELECCION = 3;
+
     private final ConsultaRepository consultaRepository;
     private final MedicoRepository medicoRepository;
     private final PacienteRepository pacienteRepository;
-    private final List<ValidadorDeConsultas> validadores;
+    private final AgendaOcupacion agendaOcupacion;
+    private final CargadorContextoReserva cargadorContextoReserva;
+    private final BloqueoDeHorarios bloqueoDeHorarios;
+    private final EstrategiaSeleccionMedico estrategiaSeleccionMedico;
+    private final EjecutorDeValidaciones ejecutorDeValidaciones;
 
-    public ReservaDeConsultas(final ConsultaRepository consultaRepository, final MedicoRepository medicoRepository, final PacienteRepository pacienteRepository, List<ValidadorDeConsultas> validadores) {
+    public ReservaDeConsultas(final ConsultaRepository consultaRepository, final MedicoRepository medicoRepository, final PacienteRepository pacienteRepository, final AgendaOcupacion agendaOcupacion, final CargadorContextoReserva cargadorContextoReserva, final BloqueoDeHorarios bloqueoDeHorarios, final EstrategiaSeleccionMedico estrategiaSeleccionMedico, final EjecutorDeValidaciones ejecutorDeValidaciones) {
         this.consultaRepository = consultaRepository;
         this.medicoRepository = medicoRepository;
         this.pacienteRepository = pacienteRepository;
-        this.validadores = validadores;
+        this.agendaOcupacion = agendaOcupacion;
+        this.cargadorContextoReserva = cargadorContextoReserva;
+        this.bloqueoDeHorarios = bloqueoDeHorarios;
+        this.estrategiaSeleccionMedico = estrategiaSeleccionMedico;
+        this.ejecutorDeValidaciones = ejecutorDeValidaciones;
     }
 
+    // Los rechazos ocurren antes de escribir: no invalidan una transacción compartida por un grupo de reservas
+    @Transactional(dontRollbackOn = RechazoDeDominio.class)
     public Consulta reservar(final DatosReservaConsulta datosReservaConsulta) {
+        return reservar(datosReservaConsulta, Set.of());
+    }
+
+    // medicosOcupados: médicos ya tomados en esa fecha por la misma transacción, que la agenda aún no refleja
+    @Transactional(dontRollbackOn = RechazoDeDominio.class)
+    public Consulta reservar(final DatosReservaConsulta datosReservaConsulta, final Set<Long> medicosOcupados) {
         if (datosReservaConsulta == null) {
-            throw new IllegalArgumentException("ERR_INVALID_REQUEST");
+            throw CodigoError.ERR_INVALID_REQUEST.rechazo();
         }
 
-        if (datosReservaConsulta.idMedico() != null && !medicoRepository.existsById(datosReservaConsulta.idMedico())) {
-            throw new IllegalArgumentException("ERR_MEDICAL_NOT_FOUND");
+        // Un solo viaje a la base con todo lo que necesitan las verificaciones y los validadores
+        ContextoReserva contextoReserva = cargadorContextoReserva.cargar(datosReservaConsulta);
+
+        verificar(datosReservaConsulta, contextoReserva);
+
+        // La existencia ya se confirmó en el contexto, basta con una referencia sin SELECT
+        Paciente paciente = pacienteRepository.getReferenceById(datosReservaConsulta.idPaciente());
+
+        var medico = elegirMedicoYBloquearHorario(datosReservaConsulta, medicosOcupados);
+        var consulta = new Consulta(null, medico, paciente, datosReservaConsulta.fecha(), null);
+        // El flush hace que una violación de uk_consultas_medico_fecha aparezca aquí y no al confirmar
+        consultaRepository.saveAndFlush(consulta);
+        agendaOcupacion.registrar(medico.getId(), consulta.getFecha());
+        return consulta;
+    }
+
+    // Verificaciones previas y validadores sobre un contexto ya cargado, compartidas con la reserva en lote
+    public void verificar(final DatosReservaConsulta datosReservaConsulta, final ContextoReserva contextoReserva) {
+        if (datosReservaConsulta.idMedico() != null && !contextoReserva.medicoExiste()) {
+            throw CodigoError.ERR_MEDICAL_NOT_FOUND.rechazo();
         }
 
-        if (datosReservaConsulta.idMedico() != null) {
-            boolean medicoActivo = medicoRepository.existsByIdAndActivoTrue(datosReservaConsulta.idMedico());
-            if (!medicoActivo) {
-                throw new IllegalArgumentException("ERR_MEDICAL_NOT_AVAILABLE");
-            }
+        if (datosReservaConsulta.idMedico() != null && !contextoReserva.medicoEstaActivo()) {
+            throw CodigoError.ERR_MEDICAL_NOT_AVAILABLE.rechazo();
         }
 
-        if (datosReservaConsulta.idPaciente() != null) {
-            boolean pacienteActivo = pacienteRepository.existsByIdAndActivoTrue(datosReservaConsulta.idPaciente());
-            if (!pacienteActivo) {
-                throw new IllegalArgumentException("ERR_PATIENT_NOT_AVAILABLE");
-            }
+        if (datosReservaConsulta.idPaciente() != null && !contextoReserva.pacienteEstaActivo()) {
+            throw CodigoError.ERR_PATIENT_NOT_AVAILABLE.rechazo();
         }
 
-        // validaciones
+        // validaciones sobre el contexto ya cargado, en orden fijo
 
-        validadores.forEach(v -> v.validar(datosReservaConsulta));
+        ejecutorDeValidaciones.validar(datosReservaConsulta, contextoReserva);
 
+        if (!contextoReserva.pacienteExiste()) {
+            throw CodigoError.ERR_PATIENT_NOT_FOUND.rechazo();
+        }
+    }
 
-        Paciente paciente = pacienteRepository.findById(datosReservaConsulta.idPaciente())
-                .orElseThrow(() -> new IllegalArgumentException("ERR_PATIENT_NOT_FOUND"));
+    private Medico elegirMedicoYBloquearHorario(final DatosReservaConsulta datosReservaConsulta, final Set<Long> medicosOcupados) {
+        Set<Long> descartados = new HashSet<>(medicosOcupados);
+        boolean franjaOcupada = false;
 
-        var medico = elegirMedico(datosReservaConsulta);
-        var consulta = new Consulta(null, medico, paciente, datosReservaConsulta.fecha(), null);
-        consultaRepository.save(consulta);
-        return consulta;
+        for (int intento = 0; intento < MAXIMO_INTENTOS_ELECCION; intento++) {
+            Optional<Medico> elegido = elegirMedico(datosReservaConsulta, descartados);
+            if (elegido.isEmpty()) {
+                break;
+            }
+            Medico medico = elegido.get();
+            descartados.add(medico.getId());
+
+            // Las franjas se toman en el orden de elección, así que no se espera: si otra reserva
+            // tiene la del médico elegido se prueba con otro
+            if (!bloqueoDeHorarios.intentarBloquearHastaFinDeTransaccion(medico.getId(), datosReservaConsulta.fecha())) {
+                franjaOcupada = true;
+                continue;
+            }
+
+            // Con el horario bloqueado se confirma que nadie lo reservó mientras se elegía el médico
+            if (!agendaOcupacion.estaOcupado(medico.getId(), datosReservaConsulta.fecha())) {
+                return medico;
+            }
+        }
+
+        // Si alguna franja estaba tomada el horario pudo quedar libre: el cliente puede reintentar
+        throw franjaOcupada
+                ? CodigoError.ERR_SCHEDULE_BUSY.rechazo()
+                : CodigoError.ERR_NO_RANDOM_MEDICAL_AVAILABLE.rechazo();
     }
 
-    private Medico elegirMedico(final DatosReservaConsulta datosReservaConsulta) {
+    private Optional<Medico> elegirMedico(final DatosReservaConsulta datosReservaConsulta, final Set<Long> descartados) {
 
         if (datosReservaConsulta.especialidad() == null) {
-            throw new IllegalArgumentException("ERR_SPECIALITY_REQUIRED");
+            throw CodigoError.ERR_SPECIALITY_REQUIRED.rechazo();
         }
 
-        // Consulta en JPQL para encontrar médicos disponibles
-        List<Medico> medicosDisponibles = medicoRepository.elegirMedicoAleatorioDisponibleEnLaFecha(
-                datosReservaConsulta.especialidad(),
-                datosReservaConsulta.fecha()
-        );
+        // Solo se necesita la clave foránea: referencia sin SELECT
+        return estrategiaSeleccionMedico
+                .elegir(datosReservaConsulta.especialidad(), datosReservaConsulta.fecha(), descartados)
+                .map(medicoRepository::getReferenceById);
+    }
 
-        if (medicosDisponibles.isEmpty()) {
-            throw new IllegalArgumentException("ERR_NO_RANDOM_MEDICAL_AVAILABLE");
+    @Transactional
+    public void cancelar(final DatosCancelamientoConsulta datos) {
+        // Un único UPDATE; cero filas afectadas significa que la consulta no existe
+        if (consultaRepository.cancelar(datos.idConsulta(), datos.motivo()) == 0) {
+            throw CodigoError.ERR_CANCELLATION_NOT_FOUND.rechazo();
         }
-
-        // Seleccionar un médico aleatorio de la lista
-        Random random = new Random();
-        return medicosDisponibles.get(random.nextInt(medicosDisponibles.size()));
     }
 
+    @Transactional
+    public DatosResultadoCancelamientoLote cancelarEnLote(final DatosCancelamientoLote datos) {
+        if (datos.idMedico() == null && datos.idPaciente() == null) {
+            throw CodigoError.ERR_INVALID_REQUEST.rechazo();
+        }
 
+        var desde = datos.desde() != null ? datos.desde() : LocalDateTime.now();
+        if (datos.hasta() != null && !datos.hasta().isAfter(desde)) {
+            throw CodigoError.ERR_INVALID_DATE_RANGE.rechazo();
+        }
 
-    public void cancelar(final DatosCancelamientoConsulta datos) {
-        var consulta = consultaRepository.findById(datos.idConsulta())
-                .orElseThrow(() -> new IllegalArgumentException("ERR_CANCELLATION_NOT_FOUND"));
-
-        // Crea una nueva instancia de Consulta con el motivo actualizado
-        var consultaCancelada = consulta.cancelar(datos.motivo());
-
-        // Guarda la nueva instancia en la base de datos
-        consultaRepository.save(consultaCancelada);
+        int canceladas = consultaRepository.cancelarEntre(datos.idMedico(), datos.idPaciente(), desde, datos.hasta(), datos.motivo());
+        return new DatosResultadoCancelamientoLote(canceladas);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.EstadoActivo;
+import med.voll.api.domain.RechazoDeDominio;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ReservaEnLoteDeConsultas {
+
+    // Múltiplo de hibernate.jdbc.batch_size: cada vaciado envía lotes completos y acota el contexto de persistencia
+    private static final int TAMANO_VACIADO = 500;
+
+    private final ConsultaRepository consultaRepository;
+    private final MedicoRepository medicoRepository;
+    private final PacienteRepository pacienteRepository;
+    private final AgendaOcupacion agendaOcupacion;
+    private final ReservaDeConsultas reservaDeConsultas;
+    private final BloqueoDeHorarios bloqueoDeHorarios;
+    private final EntityManager entityManager;
+
+    public ReservaEnLoteDeConsultas(final ConsultaRepository consultaRepository,
+                                    final MedicoRepository medicoRepository,
+                                    final PacienteRepository pacienteRepository,
+                                    final AgendaOcupacion agendaOcupacion,
+                                    final ReservaDeConsultas reservaDeConsultas,
+                                    final BloqueoDeHorarios bloqueoDeHorarios,
+                                    final EntityManager entityManager) {
+        this.consultaRepository = consultaRepository;
+        this.medicoRepository = medicoRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.agendaOcupacion = agendaOcupacion;
+        this.reservaDeConsultas = reservaDeConsultas;
+        this.bloqueoDeHorarios = bloqueoDeHorarios;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public DatosResultadoReservaLote reservar(final DatosReservaLote datosReservaLote) {
+        List<DatosReservaConsulta> consultas = datosReservaLote.consultas();
+
+        // Todo lo que los validadores necesitan, cargado para el lote completo con consultas por conjunto
+        Map<Long, Boolean> medicos = estadoPorId(ids(consultas, DatosReservaConsulta::idMedico), medicoRepository::buscarEstadoActivo);
+        Map<Long, Boolean> pacientes = estadoPorId(ids(consultas, DatosReservaConsulta::idPaciente), pacienteRepository::buscarEstadoActivo);
+        Map<Long, List<LocalDateTime>> consultasPorPaciente = consultasDePacientes(consultas);
+
+        Set<SlotOcupado> slotsDelLote = new HashSet<>();
+        Map<Especialidad, List<Long>> candidatosPorEspecialidad = new EnumMap<>(Especialidad.class);
+        List<ConsultaAceptada> aceptadas = new ArrayList<>();
+        List<DatosResultadoItemLote> resultados = new ArrayList<>(consultas.size());
+
+        for (int indice = 0; indice < consultas.size(); indice++) {
+            DatosReservaConsulta datos = consultas.get(indice);
+            try {
+                var contexto = new ContextoReserva(
+                        datos.idMedico() != null ? medicos.get(datos.idMedico()) : null,
+                        pacientes.get(datos.idPaciente()),
+                        tieneConsultaEnElDia(consultasPorPaciente.get(datos.idPaciente()), datos.fecha()),
+                        estaOcupado(datos.idMedico(), datos.fecha(), slotsDelLote)
+                );
+                reservaDeConsultas.verificar(datos, contexto);
+
+                Long idMedico = elegirMedicoYBloquearHorario(datos, candidatosPorEspecialidad, slotsDelLote);
+
+                // Solo lo confirmado bajo bloqueo pasa a contar para los conflictos del resto del lote
+                slotsDelLote.add(new SlotOcupado(idMedico, datos.fecha()));
+                consultasPorPaciente.computeIfAbsent(datos.idPaciente(), id -> new ArrayList<>()).add(datos.fecha());
+                aceptadas.add(new ConsultaAceptada(indice, idMedico, datos.idPaciente(), datos.fecha()));
+                resultados.add(new DatosResultadoItemLote(indice, "CREATED", idMedico, datos.fecha()));
+            } catch (RechazoDeDominio rechazo) {
+                resultados.add(new DatosResultadoItemLote(indice, rechazo.codigo().name(), null, datos.fecha()));
+            }
+        }
+
+        insertar(aceptadas);
+
+        return new DatosResultadoReservaLote(consultas.size(), aceptadas.size(), resultados);
+    }
+
+    private void insertar(final List<ConsultaAceptada> aceptadas) {
+        if (aceptadas.isEmpty()) {
+            return;
+        }
+
+        // Los ids salen del generador por tabla, así que Hibernate agrupa los INSERT en lotes JDBC
+        for (int i = 0; i < aceptadas.size(); i++) {
+            ConsultaAceptada consulta = aceptadas.get(i);
+            entityManager.persist(new Consulta(null,
+                    medicoRepository.getReferenceById(consulta.idMedico()),
+                    pacienteRepository.getReferenceById(consulta.idPaciente()),
+                    consulta.fecha(),
+                    null));
+            if ((i + 1) % TAMANO_VACIADO == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+
+        aceptadas.forEach(consulta -> agendaOcupacion.registrar(consulta.idMedico(), consulta.fecha()));
+    }
+
+    // Igual que la reserva individual: sin esperar por franjas y confirmando la agenda con el horario ya bloqueado
+    private Long elegirMedicoYBloquearHorario(final DatosReservaConsulta datos,
+                                              final Map<Especialidad, List<Long>> candidatosPorEspecialidad,
+                                              final Set<SlotOcupado> slotsDelLote) {
+
+        if (datos.especialidad() == null) {
+            throw CodigoError.ERR_SPECIALITY_REQUIRED.rechazo();
+        }
+
+        List<Long> libres = candidatosPorEspecialidad
+                .computeIfAbsent(datos.especialidad(), medicoRepository::buscarIdsActivosPorEspecialidad)
+                .stream()
+                .filter(idMedico -> !estaOcupado(idMedico, datos.fecha(), slotsDelLote))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        boolean franjaOcupada = false;
+        while (!libres.isEmpty()) {
+            Long idMedico = libres.remove(ThreadLocalRandom.current().nextInt(libres.size()));
+            if (!bloqueoDeHorarios.intentarBloquearHastaFinDeTransaccion(idMedico, datos.fecha())) {
+                franjaOcupada = true;
+                continue;
+            }
+            if (!agendaOcupacion.estaOcupado(idMedico, datos.fecha())) {
+                return idMedico;
+            }
+        }
+
+        throw franjaOcupada
+                ? CodigoError.ERR_SCHEDULE_BUSY.rechazo()
+                : CodigoError.ERR_NO_RANDOM_MEDICAL_AVAILABLE.rechazo();
+    }
+
+    private boolean estaOcupado(final Long idMedico, final LocalDateTime fecha, final Set<SlotOcupado> slotsDelLote) {
+        return idMedico != null
+                && (slotsDelLote.contains(new SlotOcupado(idMedico, fecha)) || agendaOcupacion.estaOcupado(idMedico, fecha));
+    }
+
+    // Misma ventana que usa el contexto individual: de las 7 a las 18 del día de la consulta
+    private static boolean tieneConsultaEnElDia(final List<LocalDateTime> fechas, final LocalDateTime fecha) {
+        if (fechas == null) {
+            return false;
+        }
+
+        var primerHorario = fecha.withHour(7);
+        var ultimoHorario = fecha.withHour(18);
+        return fechas.stream().anyMatch(f -> !f.isBefore(primerHorario) && !f.isAfter(ultimoHorario));
+    }
+
+    private Map<Long, List<LocalDateTime>> consultasDePacientes(final List<DatosReservaConsulta> consultas) {
+        Set<Long> idsPacientes = ids(consultas, DatosReservaConsulta::idPaciente);
+        if (idsPacientes.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        var desde = consultas.stream().map(c -> c.fecha().withHour(7)).min(Comparator.naturalOrder()).orElseThrow();
+        var hasta = consultas.stream().map(c -> c.fecha().withHour(18)).max(Comparator.naturalOrder()).orElseThrow();
+
+        return consultaRepository.buscarConsultasDePacientesEntre(idsPacientes, desde, hasta).stream()
+                .collect(Collectors.groupingBy(ConsultaPaciente::idPaciente, HashMap::new,
+                        Collectors.mapping(ConsultaPaciente::fecha, Collectors.toCollection(ArrayList::new))));
+    }
+
+    private static Map<Long, Boolean> estadoPorId(final Set<Long> ids, final Function<Collection<Long>, List<EstadoActivo>> consulta) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Boolean> estados = new HashMap<>();
+        consulta.apply(ids).forEach(estado -> estados.put(estado.id(), Boolean.TRUE.equals(estado.activo())));
+        return estados;
+    }
+
+    private static Set<Long> ids(final List<DatosReservaConsulta> consultas, final Function<DatosReservaConsulta, Long> id) {
+        return consultas.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private record ConsultaAceptada(int indice, Long idMedico, Long idPaciente, LocalDateTime fecha) {
+    }
+}
@@ -0,0 +1,16 @@
+package med.voll.api.domain.consulta.seleccion;
+
+import med.voll.api.domain.medico.Especialidad;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Elige el médico para una reserva sin especificar médico. Devuelve solo el id;
+ * la implementación activa se define con {@code api.consultas.seleccion-medico}.
+ */
+public interface EstrategiaSeleccionMedico {
+
+    Optional<Long> elegir(Especialidad especialidad, LocalDateTime fecha, Set<Long> descartados);
+}
@@ -0,0 +1,46 @@
+package med.voll.api.domain.consulta.seleccion;
+
+import med.voll.api.domain.consulta.AgendaOcupacion;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sorteo entre los médicos libres en la fecha: la base solo entrega ids y la ocupación sale de la agenda en memoria
+@Component
+@ConditionalOnProperty(name = "api.consultas.seleccion-medico", havingValue = "aleatoria", matchIfMissing = true)
+public class SeleccionAleatoria implements EstrategiaSeleccionMedico {
+
+    private final AgendaOcupacion agendaOcupacion;
+    private final MedicoRepository medicoRepository;
+    private final SeleccionAleatoriaEnBaseDeDatos seleccionEnBaseDeDatos;
+
+    public SeleccionAleatoria(final AgendaOcupacion agendaOcupacion, final MedicoRepository medicoRepository) {
+        this.agendaOcupacion = agendaOcupacion;
+        this.medicoRepository = medicoRepository;
+        this.seleccionEnBaseDeDatos = new SeleccionAleatoriaEnBaseDeDatos(medicoRepository);
+    }
+
+    @Override
+    public Optional<Long> elegir(final Especialidad especialidad, final LocalDateTime fecha, final Set<Long> descartados) {
+        // Mientras la agenda no está cargada la ocupación se comprueba en la base
+        if (!agendaOcupacion.estaCargada()) {
+            return seleccionEnBaseDeDatos.elegir(especialidad, fecha, descartados);
+        }
+
+        List<Long> libres = medicoRepository.buscarIdsActivosPorEspecialidad(especialidad).stream()
+                .filter(idMedico -> !descartados.contains(idMedico))
+                .filter(idMedico -> !agendaOcupacion.estaOcupado(idMedico, fecha))
+                .toList();
+        if (libres.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(libres.get(ThreadLocalRandom.current().nextInt(libres.size())));
+    }
+}
@@ -0,0 +1,31 @@
+package med.voll.api.domain.consulta.seleccion;
+
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Respaldo mientras la agenda en memoria no está cargada: la base sortea y devuelve un único id
+final class SeleccionAleatoriaEnBaseDeDatos implements EstrategiaSeleccionMedico {
+
+    // NOT IN () no es SQL válido; ningún médico tiene id -1
+    private static final List<Long> SIN_DESCARTADOS = List.of(-1L);
+
+    private final MedicoRepository medicoRepository;
+
+    SeleccionAleatoriaEnBaseDeDatos(final MedicoRepository medicoRepository) {
+        this.medicoRepository = medicoRepository;
+    }
+
+    @Override
+    public Optional<Long> elegir(final Especialidad especialidad, final LocalDateTime fecha, final Set<Long> descartados) {
+        return medicoRepository.elegirIdMedicoAleatorioDisponibleEnLaFecha(
+                especialidad.toValue(),
+                fecha,
+                descartados.isEmpty() ? SIN_DESCARTADOS : descartados
+        );
+    }
+}
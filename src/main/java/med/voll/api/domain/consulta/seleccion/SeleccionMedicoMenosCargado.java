@@ -0,0 +1,43 @@
+package med.voll.api.domain.consulta.seleccion;
+
+import med.voll.api.domain.consulta.AgendaOcupacion;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
+
+// Reparte la carga: entre los médicos libres en la fecha elige el que menos consultas pendientes tiene en la agenda
+@Component
+@ConditionalOnProperty(name = "api.consultas.seleccion-medico", havingValue = "menos-cargado")
+public class SeleccionMedicoMenosCargado implements EstrategiaSeleccionMedico {
+
+    private final AgendaOcupacion agendaOcupacion;
+    private final MedicoRepository medicoRepository;
+    private final SeleccionAleatoriaEnBaseDeDatos seleccionEnBaseDeDatos;
+
+    public SeleccionMedicoMenosCargado(final AgendaOcupacion agendaOcupacion, final MedicoRepository medicoRepository) {
+        this.agendaOcupacion = agendaOcupacion;
+        this.medicoRepository = medicoRepository;
+        this.seleccionEnBaseDeDatos = new SeleccionAleatoriaEnBaseDeDatos(medicoRepository);
+    }
+
+    @Override
+    public Optional<Long> elegir(final Especialidad especialidad, final LocalDateTime fecha, final Set<Long> descartados) {
+        // Mientras la agenda no está cargada los contadores no son fiables
+        if (!agendaOcupacion.estaCargada()) {
+            return seleccionEnBaseDeDatos.elegir(especialidad, fecha, descartados);
+        }
+
+        // Solo ids: los contadores y la agenda están en memoria
+        return medicoRepository.buscarIdsActivosPorEspecialidad(especialidad).stream()
+                .filter(idMedico -> !descartados.contains(idMedico))
+                .filter(idMedico -> !agendaOcupacion.estaOcupado(idMedico, fecha))
+                .min(Comparator.comparingLong(agendaOcupacion::consultasReservadas)
+                        .thenComparing(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,26 @@
+package med.voll.api.domain.consulta.validaciones;
+
+import med.voll.api.domain.consulta.ContextoReserva;
+import med.voll.api.domain.consulta.DatosReservaConsulta;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class EjecutorDeValidaciones {
+
+    // Orden fijo por nombre de clase para que el código de error no dependa del orden de inyección
+    private static final Comparator<ValidadorDeConsultas> ORDEN = Comparator.comparing(v -> v.getClass().getName());
+
+    private final List<ValidadorDeConsultas> validadores;
+
+    public EjecutorDeValidaciones(final List<ValidadorDeConsultas> validadores) {
+        this.validadores = validadores.stream().sorted(ORDEN).toList();
+    }
+
+    // Todas las reglas leen el contexto ya cargado: en orden y se detiene en el primer rechazo
+    public void validar(final DatosReservaConsulta datosReservaConsulta, final ContextoReserva contextoReserva) {
+        validadores.forEach(v -> v.validar(datosReservaConsulta, contextoReserva));
+    }
+}
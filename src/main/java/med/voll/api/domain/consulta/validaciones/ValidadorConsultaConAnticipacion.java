@@ -1,5 +1,7 @@
 package med.voll.api.domain.consulta.validaciones;
 
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.consulta.ContextoReserva;
 import med.voll.api.domain.consulta.DatosReservaConsulta;
 import org.springframework.stereotype.Component;
 
@@ -9,13 +11,18 @@ import java.time.LocalDateTime;
 @Component
 public class ValidadorConsultaConAnticipacion implements ValidadorDeConsultas{
 
-    public void validar(DatosReservaConsulta datosReservaConsulta){
+    public static final long MINUTOS_MINIMOS_ANTICIPACION = 30;
 
-        var fechaConsulta = datosReservaConsulta.fecha();
-        var ahora = LocalDateTime.now();
-        var diferenciaEnMinutos = Duration.between(ahora, fechaConsulta).toMinutes();
-        if (diferenciaEnMinutos < 30){
-            throw new IllegalArgumentException("INSUFFICIENT_ANTICIPATION");
+    public void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva){
+
+        if (!conAnticipacionSuficiente(datosReservaConsulta.fecha(), LocalDateTime.now())){
+            throw CodigoError.INSUFFICIENT_ANTICIPATION.rechazo();
         }
     }
+
+    // Regla compartida con la búsqueda de horarios libres
+    public static boolean conAnticipacionSuficiente(LocalDateTime fechaConsulta, LocalDateTime ahora){
+        var diferenciaEnMinutos = Duration.between(ahora, fechaConsulta).toMinutes();
+        return diferenciaEnMinutos >= MINUTOS_MINIMOS_ANTICIPACION;
+    }
 }
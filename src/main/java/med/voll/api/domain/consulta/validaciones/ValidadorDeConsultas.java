@@ -1,8 +1,10 @@
 package med.voll.api.domain.consulta.validaciones;
 
+import med.voll.api.domain.consulta.ContextoReserva;
 import med.voll.api.domain.consulta.DatosReservaConsulta;
 
 public interface ValidadorDeConsultas {
 
-    void validar(DatosReservaConsulta datosReservaConsulta);
+    void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva);
+
 }
@@ -1,22 +1,31 @@
 package med.voll.api.domain.consulta.validaciones;
 
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.consulta.ContextoReserva;
 import med.voll.api.domain.consulta.DatosReservaConsulta;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 
 @Component
 public class ValidadorFueraHorarioConsultas implements ValidadorDeConsultas {
 
+    public static final int HORA_APERTURA_CLINICA = 7;
+    public static final int HORA_ULTIMA_CONSULTA = 18;
 
-    public void validar(DatosReservaConsulta datosReservaConsulta){
-        var fechaConsulta = datosReservaConsulta.fecha();
+    public void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva){
+        if (!dentroDelHorario(datosReservaConsulta.fecha())){
+            throw CodigoError.OUT_OF_BUSINESS_HOURS.rechazo();
+        }
+    }
+
+    // Regla compartida con la búsqueda de horarios libres
+    public static boolean dentroDelHorario(LocalDateTime fechaConsulta){
         var domingo  = fechaConsulta.getDayOfWeek().equals(DayOfWeek.SUNDAY);
-        var horarioAntesDeAperturaClinica = fechaConsulta.getHour() < 7;
-        var horarioDespuesDeCierreClinica = fechaConsulta.getHour() > 18;
+        var horarioAntesDeAperturaClinica = fechaConsulta.getHour() < HORA_APERTURA_CLINICA;
+        var horarioDespuesDeCierreClinica = fechaConsulta.getHour() > HORA_ULTIMA_CONSULTA;
 
-        if (domingo || horarioAntesDeAperturaClinica || horarioDespuesDeCierreClinica){
-            throw new IllegalArgumentException("OUT_OF_BUSINESS_HOURS");
-        }
+        return !(domingo || horarioAntesDeAperturaClinica || horarioDespuesDeCierreClinica);
     }
 }
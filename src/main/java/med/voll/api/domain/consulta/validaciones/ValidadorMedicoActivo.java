@@ -1,27 +1,21 @@
 package med.voll.api.domain.consulta.validaciones;
 
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.consulta.ContextoReserva;
 import med.voll.api.domain.consulta.DatosReservaConsulta;
-import med.voll.api.domain.medico.MedicoRepository;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidadorMedicoActivo implements ValidadorDeConsultas {
 
-    private final MedicoRepository medicoRepository;
-
-    public ValidadorMedicoActivo(MedicoRepository medicoRepository) {
-        this.medicoRepository = medicoRepository;
-    }
-
-    public void validar(DatosReservaConsulta datosReservaConsulta){
+    public void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva){
 
         if (datosReservaConsulta.idMedico() == null){
             return;
         }
 
-        var medicoEstaActivo = medicoRepository.findActivoById(datosReservaConsulta.idMedico());
-        if (!medicoEstaActivo){
-            throw new IllegalArgumentException("MEDICAL_NOT_ACTIVE");
+        if (!contextoReserva.medicoEstaActivo()){
+            throw CodigoError.MEDICAL_NOT_ACTIVE.rechazo();
         }
     }
 }
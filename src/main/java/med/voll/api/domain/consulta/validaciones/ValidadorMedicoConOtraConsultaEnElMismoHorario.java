@@ -1,23 +1,17 @@
 package med.voll.api.domain.consulta.validaciones;
 
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.consulta.ContextoReserva;
 import med.voll.api.domain.consulta.DatosReservaConsulta;
-import med.voll.api.domain.consulta.ConsultaRepository;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidadorMedicoConOtraConsultaEnElMismoHorario implements ValidadorDeConsultas {
 
-    private final ConsultaRepository consultaRepository;
+    public void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva){
 
-    public ValidadorMedicoConOtraConsultaEnElMismoHorario(ConsultaRepository consultaRepository) {
-        this.consultaRepository = consultaRepository;
-    }
-
-    public void validar(DatosReservaConsulta datosReservaConsulta){
-
-        var medicoTieneOtraConsultaEnElMismoHrario = consultaRepository.existsByMedicoIdAndFecha(datosReservaConsulta.idMedico(),datosReservaConsulta.fecha());
-        if (medicoTieneOtraConsultaEnElMismoHrario){
-            throw new IllegalArgumentException("MEDICAL_SCHEDULE_CONFLICT");
+        if (contextoReserva.medicoConConsultaEnElHorario()){
+            throw CodigoError.MEDICAL_SCHEDULE_CONFLICT.rechazo();
         }
     }
 }
@@ -0,0 +1,18 @@
+package med.voll.api.domain.direccion;
+
+import jakarta.validation.constraints.Pattern;
+
+// PATCH de la dirección: un campo ausente (null) conserva su valor, pero uno informado no puede quedar en blanco
+public record DatosActualizaParcialDireccion(
+        @Pattern(regexp = ".*\\S.*", message = "El campo calle no puede estar vacía")
+        String calle,
+        @Pattern(regexp = ".*\\S.*", message = "El campo distrito no puede estar vacío")
+        String distrito,
+        @Pattern(regexp = ".*\\S.*", message = "El campo ciudad no puede estar vacía")
+        String ciudad,
+        @Pattern(regexp = ".*\\S.*", message = "El campo número no puede estar vacío")
+        String numero,
+        @Pattern(regexp = ".*\\S.*", message = "El campo complemento no puede estar vacío")
+        String complemento
+) {
+}
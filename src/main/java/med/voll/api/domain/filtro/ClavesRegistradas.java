@@ -0,0 +1,61 @@
+package med.voll.api.domain.filtro;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Emails y documentos ya registrados en una tabla, en dos filtros de Bloom. Si el filtro responde
+ * "no", el alta omite las consultas de existencia y la restricción UNIQUE queda como red de seguridad
+ * (por ejemplo, ante un alta hecha por otra instancia). Hasta terminar la carga todo es un quizás.
+ */
+public abstract class ClavesRegistradas {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final FiltroDeBloom emails;
+    private final FiltroDeBloom documentos;
+    private volatile boolean cargado;
+
+    protected ClavesRegistradas(final long capacidad, final double falsosPositivos) {
+        this.emails = new FiltroDeBloom(capacidad, falsosPositivos);
+        this.documentos = new FiltroDeBloom(capacidad, falsosPositivos);
+    }
+
+    protected abstract List<ClavesUnicas> buscarRegistradas();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        // Las altas concurrentes ya se agregan a los filtros: se suman a lo leído, no se pierden
+        buscarRegistradas().forEach(claves -> agregar(claves.email(), claves.documento()));
+        cargado = true;
+    }
+
+    // Se llama antes del INSERT: si la transacción falla solo queda un falso positivo
+    public void agregar(final String email, final String documento) {
+        if (email != null) {
+            emails.agregar(clave(email));
+        }
+        if (documento != null) {
+            documentos.agregar(clave(documento));
+        }
+    }
+
+    public boolean podriaExistirEmail(final String email) {
+        return !cargado || email == null || emails.podriaContener(clave(email));
+    }
+
+    public boolean podriaExistirDocumento(final String documento) {
+        return !cargado || documento == null || documentos.podriaContener(clave(documento));
+    }
+
+    // MySQL compara sin mayúsculas ni tildes: el filtro normaliza igual para no dar un "no" falso
+    private static String clave(final String valor) {
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(valor.strip(), Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+package med.voll.api.domain.filtro;
+
+// Las dos columnas UNIQUE de médicos y pacientes, para cargar los filtros en una sola consulta
+public record ClavesUnicas(String email, String documento) {
+}
@@ -0,0 +1,70 @@
+package med.voll.api.domain.filtro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom seguro entre hilos: "no" es definitivo, "sí" es solo un quizás.
+ * No admite quitar claves; una clave que deja de existir solo cuesta un falso positivo más.
+ */
+public class FiltroDeBloom {
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int funcionesHash;
+
+    public FiltroDeBloom(final long capacidad, final double falsosPositivos) {
+        if (capacidad <= 0 || falsosPositivos <= 0 || falsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        // m = -n ln(p) / (ln 2)^2 y k = (m / n) ln 2
+        long m = (long) Math.ceil(-capacidad * Math.log(falsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palabras = Math.toIntExact((m + Long.SIZE - 1) / Long.SIZE);
+        this.bits = new AtomicLongArray(palabras);
+        this.cantidadBits = (long) palabras * Long.SIZE;
+        this.funcionesHash = Math.max(1, (int) Math.round((double) cantidadBits / capacidad * Math.log(2)));
+    }
+
+    public void agregar(final String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(palabra);
+            // Si el bit ya está en 1 no se escribe: las claves repetidas no compiten por la palabra
+            while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara)) {
+                actual = bits.get(palabra);
+            }
+        }
+    }
+
+    public boolean podriaContener(final String clave) {
+        long h1 = hash(clave);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcionesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits sobre UTF-8, con mezcla final para repartir los bits bajos
+    private static long hash(final String clave) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : clave.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
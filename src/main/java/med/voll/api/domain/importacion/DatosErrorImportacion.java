@@ -0,0 +1,8 @@
+package med.voll.api.domain.importacion;
+
+public record DatosErrorImportacion(
+        int fila,
+        String code,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package med.voll.api.domain.importacion;
+
+import java.util.List;
+
+// Solo se informan las filas rechazadas: el resto quedó registrado
+public record DatosResultadoImportacion(
+        int total,
+        int importadas,
+        List<DatosErrorImportacion> errores
+) {
+}
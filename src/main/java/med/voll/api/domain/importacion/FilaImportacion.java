@@ -0,0 +1,13 @@
+package med.voll.api.domain.importacion;
+
+// Una fila del archivo: los datos leídos o el motivo por el que no se pudo leer
+public record FilaImportacion<T>(int numero, T datos, String error) {
+
+    public static <T> FilaImportacion<T> valida(final int numero, final T datos) {
+        return new FilaImportacion<>(numero, datos, null);
+    }
+
+    public static <T> FilaImportacion<T> invalida(final int numero, final String error) {
+        return new FilaImportacion<>(numero, null, error);
+    }
+}
@@ -0,0 +1,157 @@
+package med.voll.api.domain.importacion;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import med.voll.api.domain.CodigoError;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva por bloques: los duplicados se buscan con una consulta por bloque (no dos por fila)
+ * y cada bloque se inserta en su propia transacción, en lotes JDBC. El archivo se recorre una sola vez.
+ */
+public abstract class ImportadorPorBloques<T> {
+
+    static final int TAMANO_BLOQUE = 500;
+
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    protected ImportadorPorBloques(final Validator validator, final PlatformTransactionManager transactionManager) {
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    protected abstract String email(T datos);
+
+    protected abstract String documento(T datos);
+
+    // De las claves recibidas, las que ya están registradas
+    protected abstract Collection<String> emailsRegistrados(Collection<String> emails);
+
+    protected abstract Collection<String> documentosRegistrados(Collection<String> documentos);
+
+    // Inserta sin verificar duplicados: eso ya se hizo para todo el bloque
+    protected abstract void registrar(T datos);
+
+    public DatosResultadoImportacion importar(final Iterator<FilaImportacion<T>> filas) {
+        List<DatosErrorImportacion> errores = new ArrayList<>();
+        Set<String> emailsDelArchivo = new HashSet<>();
+        Set<String> documentosDelArchivo = new HashSet<>();
+        List<FilaImportacion<T>> bloque = new ArrayList<>(TAMANO_BLOQUE);
+        int total = 0;
+        int importadas = 0;
+
+        while (filas.hasNext()) {
+            FilaImportacion<T> fila = filas.next();
+            total++;
+
+            String invalida = fila.error() != null ? fila.error() : violaciones(fila.datos());
+            if (invalida != null) {
+                errores.add(new DatosErrorImportacion(fila.numero(), CodigoError.ERR_INVALID_REQUEST.name(), invalida));
+                continue;
+            }
+
+            // Duplicados dentro del mismo archivo: gana la primera fila
+            String email = clave(email(fila.datos()));
+            String documento = clave(documento(fila.datos()));
+            if (emailsDelArchivo.contains(email)) {
+                errores.add(error(fila, CodigoError.ERR_DUPLICATE_EMAIL));
+                continue;
+            }
+            if (documentosDelArchivo.contains(documento)) {
+                errores.add(error(fila, CodigoError.ERR_DUPLICATE_DOCUMENT));
+                continue;
+            }
+            emailsDelArchivo.add(email);
+            documentosDelArchivo.add(documento);
+
+            bloque.add(fila);
+            if (bloque.size() == TAMANO_BLOQUE) {
+                importadas += procesarBloque(bloque, errores);
+                bloque.clear();
+            }
+        }
+        importadas += procesarBloque(bloque, errores);
+
+        errores.sort(Comparator.comparingInt(DatosErrorImportacion::fila));
+        return new DatosResultadoImportacion(total, importadas, errores);
+    }
+
+    private int procesarBloque(final List<FilaImportacion<T>> bloque, final List<DatosErrorImportacion> errores) {
+        if (bloque.isEmpty()) {
+            return 0;
+        }
+
+        // Duplicados contra la base: una consulta por clave para todo el bloque
+        Set<String> emailsExistentes = claves(emailsRegistrados(bloque.stream().map(f -> email(f.datos())).toList()));
+        Set<String> documentosExistentes = claves(documentosRegistrados(bloque.stream().map(f -> documento(f.datos())).toList()));
+
+        List<FilaImportacion<T>> nuevas = new ArrayList<>(bloque.size());
+        for (FilaImportacion<T> fila : bloque) {
+            if (emailsExistentes.contains(clave(email(fila.datos())))) {
+                errores.add(error(fila, CodigoError.ERR_DUPLICATE_EMAIL));
+            } else if (documentosExistentes.contains(clave(documento(fila.datos())))) {
+                errores.add(error(fila, CodigoError.ERR_DUPLICATE_DOCUMENT));
+            } else {
+                nuevas.add(fila);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(estado -> nuevas.forEach(fila -> registrar(fila.datos())));
+            return nuevas.size();
+        } catch (DataIntegrityViolationException e) {
+            // Alguien registró la misma clave entre la verificación y el INSERT: se reintenta fila por fila
+            return registrarIndividualmente(nuevas, errores);
+        }
+    }
+
+    private int registrarIndividualmente(final List<FilaImportacion<T>> filas, final List<DatosErrorImportacion> errores) {
+        int registradas = 0;
+        for (FilaImportacion<T> fila : filas) {
+            try {
+                transactionTemplate.executeWithoutResult(estado -> registrar(fila.datos()));
+                registradas++;
+            } catch (DataIntegrityViolationException e) {
+                errores.add(error(fila, CodigoError.deViolacionDeIntegridad(e)));
+            }
+        }
+        return registradas;
+    }
+
+    private String violaciones(final T datos) {
+        Set<ConstraintViolation<T>> violaciones = validator.validate(datos);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static DatosErrorImportacion error(final FilaImportacion<?> fila, final CodigoError codigo) {
+        return new DatosErrorImportacion(fila.numero(), codigo.name(), codigo.mensaje());
+    }
+
+    // MySQL compara email y documento sin distinguir mayúsculas; el archivo se compara igual
+    private static String clave(final String valor) {
+        return valor.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> claves(final Collection<String> valores) {
+        return valores.stream().map(ImportadorPorBloques::clave).collect(Collectors.toSet());
+    }
+}
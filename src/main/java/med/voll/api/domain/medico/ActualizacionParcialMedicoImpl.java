@@ -0,0 +1,28 @@
+package med.voll.api.domain.medico;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.ActualizacionParcial;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
+
+class ActualizacionParcialMedicoImpl implements ActualizacionParcialMedico {
+
+    private final EntityManager entityManager;
+
+    ActualizacionParcialMedicoImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int actualizarParcialmente(final Long id, final DatosActualizaParcialMedico datos) {
+        DatosActualizaParcialDireccion direccion = datos.direccion();
+        return ActualizacionParcial.de(entityManager, Medico.class)
+                .fijar("nombre", datos.nombre())
+                .fijar("documento", datos.documento())
+                .fijar("direccion.calle", direccion != null ? direccion.calle() : null)
+                .fijar("direccion.distrito", direccion != null ? direccion.distrito() : null)
+                .fijar("direccion.ciudad", direccion != null ? direccion.ciudad() : null)
+                .fijar("direccion.numero", direccion != null ? direccion.numero() : null)
+                .fijar("direccion.complemento", direccion != null ? direccion.complemento() : null)
+                .ejecutar(id);
+    }
+}
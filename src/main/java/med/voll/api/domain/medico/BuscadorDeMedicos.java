@@ -0,0 +1,225 @@
+package med.voll.api.domain.medico;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre, especialidad y ciudad de los médicos activos.
+ * Los términos están ordenados, así que la búsqueda por prefijo es un recorrido de un subrango
+ * y nunca consulta MySQL. Se actualiza cuando MedicoService confirma altas, cambios y bajas.
+ */
+@Component
+public class BuscadorDeMedicos {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // Puntaje por término de la consulta según dónde y cómo coincide
+    private static final int NOMBRE_EXACTO = 4;
+    private static final int NOMBRE_PREFIJO = 3;
+    private static final int OTRO_EXACTO = 2;
+    private static final int OTRO_PREFIJO = 1;
+
+    private final MedicoRepository medicoRepository;
+
+    // término normalizado -> ids de médicos que lo contienen
+    private final NavigableMap<String, Set<Long>> indice = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public BuscadorDeMedicos(final MedicoRepository medicoRepository) {
+        this.medicoRepository = medicoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        medicoRepository.buscarParaIndice().forEach(this::indexar);
+    }
+
+    public Page<DatosListadoMedico> buscar(final String q, final Especialidad especialidad, final String ciudad, final Pageable pageable) {
+        List<String> terminos = terminos(q);
+        String ciudadBuscada = ciudad == null || ciudad.isBlank() ? null : normalizar(ciudad);
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (Long id : candidatos(terminos)) {
+            Entrada entrada = entradas.get(id);
+            if (entrada == null
+                    || (especialidad != null && entrada.medico().especialidad() != especialidad)
+                    || (ciudadBuscada != null && !ciudadBuscada.equals(entrada.ciudad()))) {
+                continue;
+            }
+            resultados.add(new Resultado(entrada, puntaje(entrada, terminos)));
+        }
+
+        // Mejor puntaje primero; a igual puntaje, orden alfabético estable
+        resultados.sort(Comparator.comparingInt(Resultado::puntaje).reversed()
+                .thenComparing(resultado -> resultado.entrada().nombre())
+                .thenComparing(resultado -> resultado.entrada().medico().id()));
+
+        int desde = (int) Math.min(pageable.getOffset(), resultados.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), resultados.size());
+        List<DatosListadoMedico> pagina = resultados.subList(desde, hasta).stream()
+                .map(resultado -> resultado.entrada().medico().aListado())
+                .toList();
+        return new PageImpl<>(pagina, pageable, resultados.size());
+    }
+
+    // Altas y cambios: el índice refleja al médico solo cuando la transacción se confirma
+    public void indexarAlConfirmar(final Medico medico) {
+        var medicoIndexado = MedicoIndexado.de(medico);
+        alConfirmar(() -> {
+            if (medico.isActivo()) {
+                indexar(medicoIndexado);
+            } else {
+                quitar(medicoIndexado.id());
+            }
+        });
+    }
+
+    // Cambios hechos con un UPDATE directo: se relee solo la proyección del índice, dentro de la transacción
+    public void reindexarAlConfirmar(final Long id) {
+        Optional<MedicoIndexado> medico = medicoRepository.buscarParaIndicePorId(id);
+        alConfirmar(() -> medico.ifPresentOrElse(this::indexar, () -> quitar(id)));
+    }
+
+    public void quitarAlConfirmar(final Long id) {
+        alConfirmar(() -> quitar(id));
+    }
+
+    private void alConfirmar(final Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private void indexar(final MedicoIndexado medico) {
+        quitar(medico.id());
+
+        List<String> terminosNombre = terminos(medico.nombre());
+        Set<String> otrosTerminos = new HashSet<>(terminos(medico.especialidad() != null ? medico.especialidad().name() : null));
+        otrosTerminos.addAll(terminos(medico.ciudad()));
+
+        var entrada = new Entrada(medico, normalizar(medico.nombre()), normalizar(medico.ciudad()),
+                Set.copyOf(terminosNombre), Set.copyOf(otrosTerminos));
+        entradas.put(medico.id(), entrada);
+        entrada.todosLosTerminos().forEach(termino ->
+                indice.computeIfAbsent(termino, t -> ConcurrentHashMap.newKeySet()).add(medico.id()));
+    }
+
+    private void quitar(final Long id) {
+        Entrada anterior = entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        anterior.todosLosTerminos().forEach(termino -> indice.computeIfPresent(termino, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    // Cada término de la consulta es un prefijo; un médico debe coincidir con todos (AND)
+    private Collection<Long> candidatos(final List<String> terminos) {
+        if (terminos.isEmpty()) {
+            return entradas.keySet();
+        }
+
+        Set<Long> candidatos = null;
+        for (String termino : terminos) {
+            Set<Long> coincidencias = new HashSet<>();
+            indice.subMap(termino, true, termino + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(coincidencias::addAll);
+            if (candidatos == null) {
+                candidatos = coincidencias;
+            } else {
+                candidatos.retainAll(coincidencias);
+            }
+            if (candidatos.isEmpty()) {
+                break;
+            }
+        }
+        return candidatos;
+    }
+
+    private int puntaje(final Entrada entrada, final List<String> terminos) {
+        int total = 0;
+        for (String termino : terminos) {
+            total += Math.max(coincidencia(entrada.terminosNombre(), termino, NOMBRE_EXACTO, NOMBRE_PREFIJO),
+                    coincidencia(entrada.otrosTerminos(), termino, OTRO_EXACTO, OTRO_PREFIJO));
+        }
+        return total;
+    }
+
+    private int coincidencia(final Set<String> terminosCampo, final String termino, final int exacto, final int prefijo) {
+        if (terminosCampo.contains(termino)) {
+            return exacto;
+        }
+        for (String terminoCampo : terminosCampo) {
+            if (terminoCampo.startsWith(termino)) {
+                return prefijo;
+            }
+        }
+        return 0;
+    }
+
+    private static List<String> terminos(final String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARADORES.split(normalizar(texto)))
+                .filter(termino -> !termino.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    // Minúsculas y sin tildes: "José Pérez" y "jose perez" indexan igual
+    private static String normalizar(final String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto.strip(), Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entrada(MedicoIndexado medico, String nombre, String ciudad,
+                           Set<String> terminosNombre, Set<String> otrosTerminos) {
+
+        Set<String> todosLosTerminos() {
+            Set<String> todos = new HashSet<>(terminosNombre);
+            todos.addAll(otrosTerminos);
+            return todos;
+        }
+    }
+
+    private record Resultado(Entrada entrada, int puntaje) {
+    }
+}
@@ -0,0 +1,26 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.filtro.ClavesRegistradas;
+import med.voll.api.domain.filtro.ClavesUnicas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ClavesDeMedicos extends ClavesRegistradas {
+
+    private final MedicoRepository medicoRepository;
+
+    public ClavesDeMedicos(final MedicoRepository medicoRepository,
+                           @Value("${api.registro.filtro.capacidad:1000000}") final long capacidad,
+                           @Value("${api.registro.filtro.falsos-positivos:0.01}") final double falsosPositivos) {
+        super(capacidad, falsosPositivos);
+        this.medicoRepository = medicoRepository;
+    }
+
+    @Override
+    protected List<ClavesUnicas> buscarRegistradas() {
+        return medicoRepository.buscarClavesUnicas();
+    }
+}
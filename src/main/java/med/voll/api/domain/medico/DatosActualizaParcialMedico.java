@@ -0,0 +1,16 @@
+package med.voll.api.domain.medico;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
+
+// PATCH: los campos ausentes (null) conservan su valor; en la dirección cuenta cada campo por separado
+public record DatosActualizaParcialMedico(
+        @Pattern(regexp = ".*\\S.*", message = "El campo nombre no puede estar vacío")
+        String nombre,
+        @Pattern(regexp = "\\d{1,3}(\\.\\d{3}){0,2}", message = "El documento debe ser numérico, con o sin puntos, y tener entre 6 y 10 dígitos.")
+        String documento,
+        @Valid
+        DatosActualizaParcialDireccion direccion
+) {
+}
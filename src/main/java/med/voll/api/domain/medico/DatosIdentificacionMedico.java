@@ -0,0 +1,7 @@
+package med.voll.api.domain.medico;
+
+public record DatosIdentificacionMedico(
+        Long id,
+        String nombre
+) {
+}
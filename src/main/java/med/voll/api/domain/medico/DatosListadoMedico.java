@@ -8,6 +8,6 @@ public record DatosListadoMedico(
         String email
 ) {
     public DatosListadoMedico(Medico medico){
-        this(medico.getId(), medico.getNombre(), Especialidad.fromValue(medico.getEspecialidad().toValue().toString()), medico.getDocumento(), medico.getEmail());
+        this(medico.getId(), medico.getNombre(), medico.getEspecialidad(), medico.getDocumento(), medico.getEmail());
     }
 }
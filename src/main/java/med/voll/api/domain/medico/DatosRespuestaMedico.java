@@ -11,7 +11,9 @@ public record DatosRespuestaMedico(
         String email,
         String telefono,
         String especialidad,
-        DatosDireccion direccion
+        DatosDireccion direccion,
+        // Versión de la fila leída junto con el resto: el ETag sale de aquí y no de otra consulta
+        Long version
 ) {
         public DatosRespuestaMedico(Medico medico) {
                 this(
@@ -26,7 +28,8 @@ public record DatosRespuestaMedico(
                                 medico.getDireccion().getCiudad(),
                                 medico.getDireccion().getNumero(),
                                 medico.getDireccion().getComplemento()
-                        )
+                        ),
+                        medico.getVersion()
                 );
         }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package med.voll.api.domain.medico;
+
+import jakarta.validation.Validator;
+import med.voll.api.domain.direccion.DatosDireccion;
+import med.voll.api.domain.importacion.ImportadorPorBloques;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Service
+public class ImportacionDeMedicos extends ImportadorPorBloques<DatosRegistroMedico> {
+
+    private final MedicoRepository medicoRepository;
+    private final BuscadorDeMedicos buscadorDeMedicos;
+    private final ClavesDeMedicos clavesDeMedicos;
+
+    public ImportacionDeMedicos(final Validator validator, final PlatformTransactionManager transactionManager,
+                                final MedicoRepository medicoRepository, final BuscadorDeMedicos buscadorDeMedicos,
+                                final ClavesDeMedicos clavesDeMedicos) {
+        super(validator, transactionManager);
+        this.medicoRepository = medicoRepository;
+        this.buscadorDeMedicos = buscadorDeMedicos;
+        this.clavesDeMedicos = clavesDeMedicos;
+    }
+
+    // Columnas CSV: nombre,telefono,email,documento,especialidad,calle,distrito,ciudad,numero,complemento
+    public static DatosRegistroMedico desdeCsv(final Map<String, String> columnas) {
+        String especialidad = columnas.get("especialidad");
+        return new DatosRegistroMedico(
+                columnas.get("nombre"),
+                columnas.get("telefono"),
+                columnas.get("email"),
+                columnas.get("documento"),
+                especialidad == null || especialidad.isBlank() ? null : Especialidad.fromValue(especialidad),
+                new DatosDireccion(
+                        columnas.get("calle"),
+                        columnas.get("distrito"),
+                        columnas.get("ciudad"),
+                        columnas.get("numero"),
+                        columnas.get("complemento")
+                )
+        );
+    }
+
+    @Override
+    protected String email(final DatosRegistroMedico datos) {
+        return datos.email();
+    }
+
+    @Override
+    protected String documento(final DatosRegistroMedico datos) {
+        return datos.documento();
+    }
+
+    @Override
+    protected Collection<String> emailsRegistrados(final Collection<String> emails) {
+        return medicoRepository.buscarEmailsRegistrados(emails);
+    }
+
+    @Override
+    protected Collection<String> documentosRegistrados(final Collection<String> documentos) {
+        return medicoRepository.buscarDocumentosRegistrados(documentos);
+    }
+
+    @Override
+    protected void registrar(final DatosRegistroMedico datos) {
+        clavesDeMedicos.agregar(datos.email(), datos.documento());
+        Medico medico = medicoRepository.save(new Medico(datos));
+        buscadorDeMedicos.indexarAlConfirmar(medico);
+    }
+}
@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import med.voll.api.domain.direccion.DatosDireccion;
 import med.voll.api.domain.direccion.Direccion;
 
-@Table(name = "medicos")
+@Table(name = "medicos", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_medicos_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_medicos_documento", columnNames = "documento")})
 @Entity(name = "Medico")
 @Getter
 @NoArgsConstructor(force = true)
@@ -17,17 +19,18 @@ import med.voll.api.domain.direccion.Direccion;
 public class Medico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids reservados de a 50 en la tabla secuencias: con IDENTITY Hibernate no puede agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "secuencia_medicos")
+    @TableGenerator(name = "secuencia_medicos", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "siguiente", pkColumnValue = "medicos", allocationSize = 50)
     private Long id;
 
     private final String nombre;
 
     private final String telefono;
 
-    @Column(unique = true)
     private final String email;
 
-    @Column(unique = true)
     private final String documento;
 
     @Convert(converter = EspecialidadConverter.class)
@@ -38,6 +41,14 @@ public class Medico {
 
     private final boolean activo;
 
+    // Lo incrementa Hibernate en cada UPDATE; sirve de ETag del recurso
+    @Version
+    private Long version;
+
+    public Medico(Long id, String nombre, String telefono, String email, String documento,
+                  Especialidad especialidad, Direccion direccion, boolean activo) {
+        this(id, nombre, telefono, email, documento, especialidad, direccion, activo, null);
+    }
 
     
     public Medico(Long id) {
@@ -74,21 +85,8 @@ public class Medico {
                 documento != null ? documento : this.documento, // Mantén el valor actual si es null
                 this.especialidad, // Especialidad no se actualiza en este método
                 direccion != null ? this.direccion.actualizarDatos(direccion) : this.direccion, // Actualiza la dirección si no es null
-                this.activo
-        );
-    }
-
-    // Método para desactivar al médico
-    public Medico desactivarMedico() {
-        return new Medico(
-                this.id,
-                this.nombre,
-                this.telefono,
-                this.email,
-                this.documento,
-                this.especialidad,
-                this.direccion,
-                false // Cambiar activo a false
+                this.activo,
+                this.version // Sin la versión, save() trataría la entidad como nueva
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package med.voll.api.domain.medico;
+
+// Lo que el índice de búsqueda guarda de cada médico: lo que se lista más la ciudad para filtrar
+public record MedicoIndexado(
+        Long id,
+        String nombre,
+        Especialidad especialidad,
+        String documento,
+        String email,
+        String ciudad
+) {
+
+    public static MedicoIndexado de(final Medico medico) {
+        return new MedicoIndexado(
+                medico.getId(),
+                medico.getNombre(),
+                medico.getEspecialidad(),
+                medico.getDocumento(),
+                medico.getEmail(),
+                medico.getDireccion() != null ? medico.getDireccion().getCiudad() : null
+        );
+    }
+
+    public DatosListadoMedico aListado() {
+        return new DatosListadoMedico(id, nombre, especialidad, documento, email);
+    }
+}
@@ -1,38 +1,158 @@
 package med.voll.api.domain.medico;
 
+import jakarta.persistence.QueryHint;
+import med.voll.api.domain.EstadoActivo;
+import med.voll.api.domain.filtro.ClavesUnicas;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MedicoRepository extends JpaRepository<Medico, Long> {
+public interface MedicoRepository extends JpaRepository<Medico, Long>, ActualizacionParcialMedico {
 
     boolean existsByEmail(String email);
     boolean existsByDocumento(String documento);
-    boolean existsByIdAndActivoTrue(Long idMedico);
 
+    // Carga de los filtros de Bloom del alta (ClavesDeMedicos)
+    @Query("SELECT new med.voll.api.domain.filtro.ClavesUnicas(m.email, m.documento) FROM Medico m")
+    List<ClavesUnicas> buscarClavesUnicas();
+
+    // Baja lógica en un solo UPDATE condicional; la versión sube igual que con save()
+    @Modifying
+    @Query("""
+            UPDATE Medico m
+            SET m.activo = false, m.version = m.version + 1
+            WHERE m.id = :id AND m.activo = true
+            """)
+    int desactivar(Long id);
+
+    @Modifying
+    @Query("""
+            UPDATE Medico m
+            SET m.activo = false, m.version = m.version + 1
+            WHERE m.id IN :ids AND m.activo = true
+            """)
+    int desactivarTodos(Collection<Long> ids);
+
+    // Importación: duplicados de todo un bloque en una consulta por clave
+    @Query("SELECT m.email FROM Medico m WHERE m.email IN :emails")
+    List<String> buscarEmailsRegistrados(Collection<String> emails);
+
+    @Query("SELECT m.documento FROM Medico m WHERE m.documento IN :documentos")
+    List<String> buscarDocumentosRegistrados(Collection<String> documentos);
+
+    // Listados: solo las columnas del DTO, sin hidratar la entidad ni su dirección
+    @Query(value = """
+            SELECT new med.voll.api.domain.medico.DatosListadoMedico(m.id, m.nombre, m.especialidad, m.documento, m.email)
+            FROM Medico m
+            WHERE m.activo = true
+            """, countQuery = """
+            SELECT COUNT(m)
+            FROM Medico m
+            WHERE m.activo = true
+            """)
+    Page<DatosListadoMedico> buscarListado(Pageable pageable);
+
+    // Variante sin COUNT: pide una fila de más para saber si hay página siguiente
     @Query("""
-            SELECT m.activo
+            SELECT new med.voll.api.domain.medico.DatosListadoMedico(m.id, m.nombre, m.especialidad, m.documento, m.email)
             FROM Medico m
-            WHERE
-            m.id = :idMedico
+            WHERE m.activo = true
             """)
-    boolean findActivoById(Long idMedico);
+    Slice<DatosListadoMedico> buscarListadoSinTotal(Pageable pageable);
 
-    Page<Medico> findByActivoTrue(Pageable pageable);
+    // Paginación por cursor: primera página y las siguientes buscando a partir de (nombre, id), sin OFFSET ni COUNT
+    @Query("""
+            SELECT new med.voll.api.domain.medico.DatosListadoMedico(m.id, m.nombre, m.especialidad, m.documento, m.email)
+            FROM Medico m
+            WHERE m.activo = true
+            ORDER BY m.nombre, m.id
+            """)
+    List<DatosListadoMedico> buscarListadoDesdeElInicio(Limit limite);
 
     @Query("""
-        SELECT m FROM Medico m
-        WHERE m.activo = true
-        AND m.especialidad = :especialidad
-        AND NOT EXISTS (
-            SELECT c FROM Consulta c
-            WHERE c.medico = m
-            AND c.fecha = :fecha
-        )
-        """)
-    List<Medico> elegirMedicoAleatorioDisponibleEnLaFecha(Especialidad especialidad, LocalDateTime fecha);
-}
\ No newline at end of file
+            SELECT new med.voll.api.domain.medico.DatosListadoMedico(m.id, m.nombre, m.especialidad, m.documento, m.email)
+            FROM Medico m
+            WHERE m.activo = true
+            AND (m.nombre > :nombre OR (m.nombre = :nombre AND m.id > :id))
+            ORDER BY m.nombre, m.id
+            """)
+    List<DatosListadoMedico> buscarListadoDespuesDe(String nombre, Long id, Limit limite);
+
+    @Query("""
+            SELECT new med.voll.api.domain.EstadoActivo(m.id, m.activo)
+            FROM Medico m
+            WHERE m.id IN :ids
+            """)
+    List<EstadoActivo> buscarEstadoActivo(Collection<Long> ids);
+
+    @Query("""
+            SELECT m.id
+            FROM Medico m
+            WHERE m.activo = true
+            AND m.especialidad = :especialidad
+            """)
+    List<Long> buscarIdsActivosPorEspecialidad(Especialidad especialidad);
+
+    @Query("""
+            SELECT new med.voll.api.domain.medico.DatosIdentificacionMedico(m.id, m.nombre)
+            FROM Medico m
+            WHERE m.activo = true
+            AND m.especialidad = :especialidad
+            ORDER BY m.id
+            """)
+    List<DatosIdentificacionMedico> buscarActivosPorEspecialidadOrdenadosPorId(Especialidad especialidad);
+
+    @Query(value = """
+            SELECT m.id
+            FROM medicos m
+            WHERE m.activo = 1
+            AND m.especialidad = :especialidad
+            AND m.id NOT IN (:descartados)
+            AND NOT EXISTS (
+                SELECT 1 FROM consultas c
+                WHERE c.medico_id = m.id
+                AND c.fecha = :fecha
+            )
+            ORDER BY RAND()
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<Long> elegirIdMedicoAleatorioDisponibleEnLaFecha(String especialidad, LocalDateTime fecha, Collection<Long> descartados);
+
+    // Carga inicial del índice de búsqueda en memoria
+    @Query("""
+            SELECT new med.voll.api.domain.medico.MedicoIndexado(m.id, m.nombre, m.especialidad, m.documento, m.email, m.direccion.ciudad)
+            FROM Medico m
+            WHERE m.activo = true
+            """)
+    List<MedicoIndexado> buscarParaIndice();
+
+    @Query("""
+            SELECT new med.voll.api.domain.medico.MedicoIndexado(m.id, m.nombre, m.especialidad, m.documento, m.email, m.direccion.ciudad)
+            FROM Medico m
+            WHERE m.id = :id AND m.activo = true
+            """)
+    Optional<MedicoIndexado> buscarParaIndicePorId(Long id);
+
+    // Exportación: cursor de solo avance sobre la misma proyección del listado, sin cargar todo en memoria
+    // Con MySQL, un fetch size de Integer.MIN_VALUE hace que el driver entregue las filas una a una
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT new med.voll.api.domain.medico.DatosListadoMedico(m.id, m.nombre, m.especialidad, m.documento, m.email)
+            FROM Medico m
+            WHERE m.activo = true
+            ORDER BY m.nombre, m.id
+            """)
+    Stream<DatosListadoMedico> exportarListado();
+}
@@ -2,31 +2,59 @@ package med.voll.api.domain.medico;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.CursorListado;
+import med.voll.api.domain.DatosPaginaCursor;
+import med.voll.api.domain.LecturaConsistente;
+import med.voll.api.domain.cache.CacheLocal;
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.MotivoCancelamiento;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Service
 public class MedicoService {
 
     private final MedicoRepository medicoRepository;
-
-    public MedicoService(final MedicoRepository medicoRepository) {
+    private final ConsultaRepository consultaRepository;
+    private final BuscadorDeMedicos buscadorDeMedicos;
+    private final CacheLocal<Long, DatosRespuestaMedico> cacheMedicos;
+    private final ClavesDeMedicos clavesDeMedicos;
+
+    public MedicoService(final MedicoRepository medicoRepository, final ConsultaRepository consultaRepository,
+                         final BuscadorDeMedicos buscadorDeMedicos, final CacheLocal<Long, DatosRespuestaMedico> cacheMedicos,
+                         final ClavesDeMedicos clavesDeMedicos) {
         this.medicoRepository = medicoRepository;
+        this.consultaRepository = consultaRepository;
+        this.buscadorDeMedicos = buscadorDeMedicos;
+        this.cacheMedicos = cacheMedicos;
+        this.clavesDeMedicos = clavesDeMedicos;
     }
 
     @Transactional
     public Medico registrarMedico(final DatosRegistroMedico datosRegistroMedico) {
-        // Verificar si ya existe un registro con el correo
-        if (medicoRepository.existsByEmail(datosRegistroMedico.email())) {
-            throw new IllegalStateException("ERR_DUPLICATE_EMAIL");
+        // Verificar si ya existe un registro con el correo; si el filtro dice que no, no se consulta
+        if (clavesDeMedicos.podriaExistirEmail(datosRegistroMedico.email())
+                && medicoRepository.existsByEmail(datosRegistroMedico.email())) {
+            throw CodigoError.ERR_DUPLICATE_EMAIL.rechazo();
         }
 
         // Verificar si ya existe un registro con el documento
-        if (medicoRepository.existsByDocumento(datosRegistroMedico.documento())) {
-            throw new IllegalStateException("ERR_DUPLICATE_DOCUMENT");
+        if (clavesDeMedicos.podriaExistirDocumento(datosRegistroMedico.documento())
+                && medicoRepository.existsByDocumento(datosRegistroMedico.documento())) {
+            throw CodigoError.ERR_DUPLICATE_DOCUMENT.rechazo();
         }
 
-        // Guardar el médico
-        return medicoRepository.save(new Medico(datosRegistroMedico));
+        // Guardar el médico; un duplicado concurrente lo detiene uk_medicos_email o uk_medicos_documento
+        clavesDeMedicos.agregar(datosRegistroMedico.email(), datosRegistroMedico.documento());
+        Medico medico = medicoRepository.save(new Medico(datosRegistroMedico));
+        buscadorDeMedicos.indexarAlConfirmar(medico);
+        cacheMedicos.invalidar(medico.getId());
+        return medico;
     }
 
 
@@ -40,10 +68,11 @@ public class MedicoService {
         if (datosActualizaMedico.documento() != null &&
                 !datosActualizaMedico.documento().equals(medicoExistente.getEmail()) &&
                 medicoRepository.existsByDocumento(datosActualizaMedico.documento())) {
-            throw new IllegalStateException("ERR_DUPLICATE_DOCUMENT");
+            throw CodigoError.ERR_DUPLICATE_DOCUMENT.rechazo();
         }
 
         // Actualizar los datos del médico
+        clavesDeMedicos.agregar(null, datosActualizaMedico.documento());
         Medico medicoActualizado = medicoExistente.actualizarDatos(
                 datosActualizaMedico.nombre(),
                 datosActualizaMedico.documento(),
@@ -51,26 +80,78 @@ public class MedicoService {
         );
 
         // Guardar la nueva instancia actualizada
-        return medicoRepository.save(medicoActualizado);
+        Medico medicoGuardado = medicoRepository.save(medicoActualizado);
+        buscadorDeMedicos.indexarAlConfirmar(medicoGuardado);
+        // La instancia guardada es otra, pero la clave es el id: la entrada vieja se descarta
+        cacheMedicos.invalidar(medicoGuardado.getId());
+        return medicoGuardado;
+    }
+
+    @Transactional
+    public int actualizarParcialmente(final Long id, final DatosActualizaParcialMedico datos) {
+        // Un solo UPDATE con los campos informados; un documento repetido lo rechaza uk_medicos_documento
+        clavesDeMedicos.agregar(null, datos.documento());
+        int filas = medicoRepository.actualizarParcialmente(id, datos);
+        if (filas == 0) {
+            throw new EntityNotFoundException("ERR_RECORD_NOT_FOUND");
+        }
+        buscadorDeMedicos.reindexarAlConfirmar(id);
+        cacheMedicos.invalidar(id);
+        return filas;
     }
 
     @Transactional
     public void desactivarMedico(Long id) {
+        // Un solo UPDATE condicional; solo cuando no afecta filas se consulta el motivo
+        if (medicoRepository.desactivar(id) == 0) {
+            if (!medicoRepository.existsById(id)) {
+                throw new EntityNotFoundException("");
+            }
+            throw CodigoError.ERR_ALREADY_INACTIVE.rechazo();
+        }
+        buscadorDeMedicos.quitarAlConfirmar(id);
+        cacheMedicos.invalidar(id);
+    }
 
-        // Buscar el médico por ID
-        Medico medicoExistente = medicoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(""));
+    // Baja masiva en un solo UPDATE: devuelve cuántos estaban activos; los demás no existen o ya estaban de baja
+    @Transactional
+    public int desactivarMedicos(final Collection<Long> ids) {
+        int desactivados = medicoRepository.desactivarTodos(ids);
+        ids.forEach(id -> {
+            buscadorDeMedicos.quitarAlConfirmar(id);
+            cacheMedicos.invalidar(id);
+        });
+        return desactivados;
+    }
 
-        // Crear una nueva instancia desactivada
-        Medico medicoDesactivado = medicoExistente.desactivarMedico();
+    @Transactional
+    public int desactivarMedicoCancelandoConsultas(Long id) {
+        desactivarMedico(id);
 
-        // Guardar la nueva instancia desactivada
-        medicoRepository.save(medicoDesactivado);
+        // Todas las consultas futuras del médico se cancelan con un solo UPDATE
+        return consultaRepository.cancelarEntre(id, null, LocalDateTime.now(), null, MotivoCancelamiento.MÉDICO_CANCELO);
     }
 
     public DatosRespuestaMedico obtenerDatosMedicoPorId(Long id) {
-        Medico medico = medicoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("ERR_RECORD_NOT_FOUND"));
-        return new DatosRespuestaMedico(medico);
+        // La caché no vence por tiempo: una fila atrasada de una réplica quedaría hasta la próxima escritura
+        return cacheMedicos.obtener(id, clave -> LecturaConsistente.obtener(() -> medicoRepository.findById(clave)
+                .map(DatosRespuestaMedico::new)
+                .orElseThrow(() -> new EntityNotFoundException("ERR_RECORD_NOT_FOUND"))));
+    }
+
+    public DatosPaginaCursor<DatosListadoMedico> listarPorCursor(final String cursor, final int tamano) {
+        int limite = CursorListado.tamanoValido(tamano);
+        // Se pide una fila de más para saber si hay otra página sin ejecutar un COUNT
+        Limit filas = Limit.of(limite + 1);
+
+        List<DatosListadoMedico> medicos;
+        if (cursor == null || cursor.isBlank()) {
+            medicos = medicoRepository.buscarListadoDesdeElInicio(filas);
+        } else {
+            CursorListado posicion = CursorListado.decodificar(cursor);
+            medicos = medicoRepository.buscarListadoDespuesDe(posicion.nombre(), posicion.id(), filas);
+        }
+
+        return DatosPaginaCursor.de(medicos, limite, datos -> new CursorListado(datos.nombre(), datos.id()));
     }
 }
@@ -0,0 +1,8 @@
+package med.voll.api.domain.paciente;
+
+// Fragmento de PacienteRepository: el proxy del repositorio traduce las violaciones de UNIQUE a DataIntegrityViolationException
+public interface ActualizacionParcialPaciente {
+
+    // Un único UPDATE con los campos informados; devuelve las filas afectadas (0 si el id no existe)
+    int actualizarParcialmente(Long id, DatosActualizaParcialPaciente datos);
+}
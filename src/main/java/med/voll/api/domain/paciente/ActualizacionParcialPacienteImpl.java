@@ -0,0 +1,28 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.ActualizacionParcial;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
+
+class ActualizacionParcialPacienteImpl implements ActualizacionParcialPaciente {
+
+    private final EntityManager entityManager;
+
+    ActualizacionParcialPacienteImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int actualizarParcialmente(final Long id, final DatosActualizaParcialPaciente datos) {
+        DatosActualizaParcialDireccion direccion = datos.direccion();
+        return ActualizacionParcial.de(entityManager, Paciente.class)
+                .fijar("nombre", datos.nombre())
+                .fijar("documentoIdentidad", datos.documentoIdentidad())
+                .fijar("direccion.calle", direccion != null ? direccion.calle() : null)
+                .fijar("direccion.distrito", direccion != null ? direccion.distrito() : null)
+                .fijar("direccion.ciudad", direccion != null ? direccion.ciudad() : null)
+                .fijar("direccion.numero", direccion != null ? direccion.numero() : null)
+                .fijar("direccion.complemento", direccion != null ? direccion.complemento() : null)
+                .ejecutar(id);
+    }
+}
@@ -0,0 +1,26 @@
+package med.voll.api.domain.paciente;
+
+import med.voll.api.domain.filtro.ClavesRegistradas;
+import med.voll.api.domain.filtro.ClavesUnicas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ClavesDePacientes extends ClavesRegistradas {
+
+    private final PacienteRepository pacienteRepository;
+
+    public ClavesDePacientes(final PacienteRepository pacienteRepository,
+                             @Value("${api.registro.filtro.capacidad:1000000}") final long capacidad,
+                             @Value("${api.registro.filtro.falsos-positivos:0.01}") final double falsosPositivos) {
+        super(capacidad, falsosPositivos);
+        this.pacienteRepository = pacienteRepository;
+    }
+
+    @Override
+    protected List<ClavesUnicas> buscarRegistradas() {
+        return pacienteRepository.buscarClavesUnicas();
+    }
+}
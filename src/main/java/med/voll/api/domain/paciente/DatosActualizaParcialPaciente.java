@@ -0,0 +1,16 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
+
+// PATCH: los campos ausentes (null) conservan su valor; en la dirección cuenta cada campo por separado
+public record DatosActualizaParcialPaciente(
+        @Pattern(regexp = ".*\\S.*", message = "El campo nombre no puede estar vacío")
+        String nombre,
+        @Pattern(regexp = "\\d{8,11}", message = "El documento debe contener entre 8 y 11 dígitos")
+        String documentoIdentidad,
+        @Valid
+        DatosActualizaParcialDireccion direccion
+) {
+}
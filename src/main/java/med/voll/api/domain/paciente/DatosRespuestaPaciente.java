@@ -10,7 +10,9 @@ public record DatosRespuestaPaciente(
         String email,
         String documentoIdentidad,
         String telefono,
-        DatosDireccion direccion
+        DatosDireccion direccion,
+        // Versión de la fila leída junto con el resto: el ETag sale de aquí y no de otra consulta
+        Long version
 ) {
         public DatosRespuestaPaciente(Paciente paciente) {
                 this(
@@ -25,7 +27,8 @@ public record DatosRespuestaPaciente(
                                 paciente.getDireccion().getCiudad(),
                                 paciente.getDireccion().getNumero(),
                                 paciente.getDireccion().getComplemento()
-                        )
+                        ),
+                        paciente.getVersion()
                 );
         }
 }
@@ -0,0 +1,67 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.validation.Validator;
+import med.voll.api.domain.direccion.DatosDireccion;
+import med.voll.api.domain.importacion.ImportadorPorBloques;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Service
+public class ImportacionDePacientes extends ImportadorPorBloques<DatosRegistroPaciente> {
+
+    private final PacienteRepository pacienteRepository;
+    private final ClavesDePacientes clavesDePacientes;
+
+    public ImportacionDePacientes(final Validator validator, final PlatformTransactionManager transactionManager,
+                                  final PacienteRepository pacienteRepository, final ClavesDePacientes clavesDePacientes) {
+        super(validator, transactionManager);
+        this.pacienteRepository = pacienteRepository;
+        this.clavesDePacientes = clavesDePacientes;
+    }
+
+    // Columnas CSV: nombre,email,documentoIdentidad,telefono,calle,distrito,ciudad,numero,complemento
+    public static DatosRegistroPaciente desdeCsv(final Map<String, String> columnas) {
+        return new DatosRegistroPaciente(
+                columnas.get("nombre"),
+                columnas.get("email"),
+                columnas.get("documentoIdentidad"),
+                columnas.get("telefono"),
+                new DatosDireccion(
+                        columnas.get("calle"),
+                        columnas.get("distrito"),
+                        columnas.get("ciudad"),
+                        columnas.get("numero"),
+                        columnas.get("complemento")
+                )
+        );
+    }
+
+    @Override
+    protected String email(final DatosRegistroPaciente datos) {
+        return datos.email();
+    }
+
+    @Override
+    protected String documento(final DatosRegistroPaciente datos) {
+        return datos.documentoIdentidad();
+    }
+
+    @Override
+    protected Collection<String> emailsRegistrados(final Collection<String> emails) {
+        return pacienteRepository.buscarEmailsRegistrados(emails);
+    }
+
+    @Override
+    protected Collection<String> documentosRegistrados(final Collection<String> documentos) {
+        return pacienteRepository.buscarDocumentosRegistrados(documentos);
+    }
+
+    @Override
+    protected void registrar(final DatosRegistroPaciente datos) {
+        clavesDePacientes.agregar(datos.email(), datos.documentoIdentidad());
+        pacienteRepository.save(new Paciente(datos));
+    }
+}
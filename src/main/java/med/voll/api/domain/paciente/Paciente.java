@@ -9,7 +9,9 @@ import med.voll.api.domain.direccion.DatosDireccion;
 import med.voll.api.domain.direccion.Direccion;
 
 
-@Table(name = "pacientes")
+@Table(name = "pacientes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pacientes_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_pacientes_documento_identidad", columnNames = "documento_identidad")})
 @Entity(name = "Paciente")
 @Getter
 @NoArgsConstructor(force = true)
@@ -18,15 +20,16 @@ import med.voll.api.domain.direccion.Direccion;
 public class Paciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Mismo generador por tabla que Medico
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "secuencia_pacientes")
+    @TableGenerator(name = "secuencia_pacientes", table = "secuencias", pkColumnName = "nombre",
+            valueColumnName = "siguiente", pkColumnValue = "pacientes", allocationSize = 50)
     private Long id;
 
     private final String nombre;
 
-    @Column(unique = true)
     private final String email;
 
-    @Column(unique = true)
     private final String documentoIdentidad;
 
     private final String telefono;
@@ -36,6 +39,15 @@ public class Paciente {
 
     private final Boolean activo;
 
+    // Lo incrementa Hibernate en cada UPDATE; sirve de ETag del recurso
+    @Version
+    private Long version;
+
+    public Paciente(Long id, String nombre, String email, String documentoIdentidad, String telefono,
+                    Direccion direccion, Boolean activo) {
+        this(id, nombre, email, documentoIdentidad, telefono, direccion, activo, null);
+    }
+
     public Paciente(Long id) {
         this.id = id;
         this.nombre = null;
@@ -66,20 +78,8 @@ public class Paciente {
                 documentoIdentidad != null ? documentoIdentidad : this.documentoIdentidad, // Mantén el valor actual si es null
                 this.telefono, // Teléfono no se actualiza en este método
                 direccion != null ? this.direccion.actualizarDatos(direccion) : this.direccion, // Actualiza la dirección si no es null
-                this.activo
-        );
-    }
-
-    // Método para desactivar al médico
-    public Paciente desactivarPaciente() {
-        return new Paciente(
-                this.id,
-                this.nombre,
-                this.email,
-                this.documentoIdentidad,
-                this.telefono,
-                this.direccion,
-                false // Cambiar activo a false
+                this.activo,
+                this.version // Sin la versión, save() trataría la entidad como nueva
         );
     }
 }
@@ -1,28 +1,109 @@
 package med.voll.api.domain.paciente;
 
+import jakarta.persistence.QueryHint;
+import med.voll.api.domain.EstadoActivo;
+import med.voll.api.domain.filtro.ClavesUnicas;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface PacienteRepository extends JpaRepository<Paciente, Long> {
+
+public interface PacienteRepository extends JpaRepository<Paciente, Long>, ActualizacionParcialPaciente {
 
     boolean existsByEmail(String email);
     boolean existsByDocumentoIdentidad(String documentoIdentidad);
-    boolean existsByIdAndActivoTrue(Long idPaciente);
 
+    // Carga de los filtros de Bloom del alta (ClavesDePacientes)
+    @Query("SELECT new med.voll.api.domain.filtro.ClavesUnicas(p.email, p.documentoIdentidad) FROM Paciente p")
+    List<ClavesUnicas> buscarClavesUnicas();
+
+    // Baja lógica en un solo UPDATE condicional; la versión sube igual que con save()
+    @Modifying
     @Query("""
-            SELECT p.activo
+            UPDATE Paciente p
+            SET p.activo = false, p.version = p.version + 1
+            WHERE p.id = :id AND p.activo = true
+            """)
+    int desactivar(Long id);
+
+    @Modifying
+    @Query("""
+            UPDATE Paciente p
+            SET p.activo = false, p.version = p.version + 1
+            WHERE p.id IN :ids AND p.activo = true
+            """)
+    int desactivarTodos(Collection<Long> ids);
+
+    // Importación: duplicados de todo un bloque en una consulta por clave
+    @Query("SELECT p.email FROM Paciente p WHERE p.email IN :emails")
+    List<String> buscarEmailsRegistrados(Collection<String> emails);
+
+    @Query("SELECT p.documentoIdentidad FROM Paciente p WHERE p.documentoIdentidad IN :documentos")
+    List<String> buscarDocumentosRegistrados(Collection<String> documentos);
+
+    // Listados: solo las columnas del DTO, sin hidratar la entidad ni su dirección
+    @Query(value = """
+            SELECT new med.voll.api.domain.paciente.DatosListadoPaciente(p.id, p.nombre, p.email, p.documentoIdentidad, p.telefono)
             FROM Paciente p
-            WHERE
-            p.id = :idPaciente
+            WHERE p.activo = true
+            """, countQuery = """
+            SELECT COUNT(p)
+            FROM Paciente p
+            WHERE p.activo = true
             """)
-    boolean findActivoById(Long idPaciente);
+    Page<DatosListadoPaciente> buscarListado(Pageable pageable);
 
-    Page<Paciente> findByActivoTrue(Pageable pageable);
+    // Variante sin COUNT: pide una fila de más para saber si hay página siguiente
+    @Query("""
+            SELECT new med.voll.api.domain.paciente.DatosListadoPaciente(p.id, p.nombre, p.email, p.documentoIdentidad, p.telefono)
+            FROM Paciente p
+            WHERE p.activo = true
+            """)
+    Slice<DatosListadoPaciente> buscarListadoSinTotal(Pageable pageable);
 
+    // Paginación por cursor: primera página y las siguientes buscando a partir de (nombre, id), sin OFFSET ni COUNT
+    @Query("""
+            SELECT new med.voll.api.domain.paciente.DatosListadoPaciente(p.id, p.nombre, p.email, p.documentoIdentidad, p.telefono)
+            FROM Paciente p
+            WHERE p.activo = true
+            ORDER BY p.nombre, p.id
+            """)
+    List<DatosListadoPaciente> buscarListadoDesdeElInicio(Limit limite);
 
+    @Query("""
+            SELECT new med.voll.api.domain.paciente.DatosListadoPaciente(p.id, p.nombre, p.email, p.documentoIdentidad, p.telefono)
+            FROM Paciente p
+            WHERE p.activo = true
+            AND (p.nombre > :nombre OR (p.nombre = :nombre AND p.id > :id))
+            ORDER BY p.nombre, p.id
+            """)
+    List<DatosListadoPaciente> buscarListadoDespuesDe(String nombre, Long id, Limit limite);
 
-}
+    @Query("""
+            SELECT new med.voll.api.domain.EstadoActivo(p.id, p.activo)
+            FROM Paciente p
+            WHERE p.id IN :ids
+            """)
+    List<EstadoActivo> buscarEstadoActivo(Collection<Long> ids);
 
+    // Exportación: cursor de solo avance sobre la misma proyección del listado, sin cargar todo en memoria
+    // Con MySQL, un fetch size de Integer.MIN_VALUE hace que el driver entregue las filas una a una
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT new med.voll.api.domain.paciente.DatosListadoPaciente(p.id, p.nombre, p.email, p.documentoIdentidad, p.telefono)
+            FROM Paciente p
+            WHERE p.activo = true
+            ORDER BY p.nombre, p.id
+            """)
+    Stream<DatosListadoPaciente> exportarListado();
+}
@@ -2,40 +2,59 @@ package med.voll.api.domain.paciente;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.CursorListado;
+import med.voll.api.domain.DatosPaginaCursor;
+import med.voll.api.domain.LecturaConsistente;
+import med.voll.api.domain.cache.CacheLocal;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class PacienteService {
 
     private final PacienteRepository pacienteRepository;
+    private final CacheLocal<Long, DatosRespuestaPaciente> cachePacientes;
+    private final ClavesDePacientes clavesDePacientes;
 
-    public PacienteService(final PacienteRepository pacienteRepository) {
+    public PacienteService(final PacienteRepository pacienteRepository,
+                           final CacheLocal<Long, DatosRespuestaPaciente> cachePacientes,
+                           final ClavesDePacientes clavesDePacientes) {
         this.pacienteRepository = pacienteRepository;
+        this.cachePacientes = cachePacientes;
+        this.clavesDePacientes = clavesDePacientes;
     }
 
     public Page<DatosListadoPaciente> listarPacientes(Pageable pageable) {
-        return pacienteRepository.findByActivoTrue(pageable).map(DatosListadoPaciente::new);
+        return pacienteRepository.buscarListado(pageable);
     }
 
     @Transactional
     public Paciente registrarPaciente(final DatosRegistroPaciente datosRegistroPaciente) {
-        // Verificar si ya existe un registro con el correo
-        if (pacienteRepository.existsByEmail(datosRegistroPaciente.email())) {
-            throw new IllegalStateException("ERR_DUPLICATE_EMAIL");
+        // Verificar si ya existe un registro con el correo; si el filtro dice que no, no se consulta
+        if (clavesDePacientes.podriaExistirEmail(datosRegistroPaciente.email())
+                && pacienteRepository.existsByEmail(datosRegistroPaciente.email())) {
+            throw CodigoError.ERR_DUPLICATE_EMAIL.rechazo();
         }
 
         // Verificar si ya existe un registro con el documento
-        if (pacienteRepository.existsByDocumentoIdentidad(datosRegistroPaciente.documentoIdentidad())) {
-            throw new IllegalStateException("ERR_DUPLICATE_DOCUMENT");
+        if (clavesDePacientes.podriaExistirDocumento(datosRegistroPaciente.documentoIdentidad())
+                && pacienteRepository.existsByDocumentoIdentidad(datosRegistroPaciente.documentoIdentidad())) {
+            throw CodigoError.ERR_DUPLICATE_DOCUMENT.rechazo();
         }
 
-        // Guardar el médico
-        return pacienteRepository.save(new Paciente(datosRegistroPaciente));
+        // Guardar el paciente; un duplicado concurrente lo detiene la restricción UNIQUE
+        clavesDePacientes.agregar(datosRegistroPaciente.email(), datosRegistroPaciente.documentoIdentidad());
+        Paciente paciente = pacienteRepository.save(new Paciente(datosRegistroPaciente));
+        cachePacientes.invalidar(paciente.getId());
+        return paciente;
     }
 
     public URI construirUrlRegistro(Paciente paciente, UriComponentsBuilder uriComponentsBuilder) {
@@ -51,36 +70,76 @@ public class PacienteService {
         if (datosActualizaPaciente.documentoIdentidad() != null &&
                 !datosActualizaPaciente.documentoIdentidad().equals(pacienteExistente.getEmail()) &&
                 pacienteRepository.existsByDocumentoIdentidad(datosActualizaPaciente.documentoIdentidad())) {
-            throw new IllegalStateException("ERR_DUPLICATE_DOCUMENT");
+            throw CodigoError.ERR_DUPLICATE_DOCUMENT.rechazo();
         }
 
         // Crear una nueva instancia actualizada
+        clavesDePacientes.agregar(null, datosActualizaPaciente.documentoIdentidad());
         Paciente pacienteActualizado = pacienteExistente.actualizarDatos(
                 datosActualizaPaciente.nombre(),
                 datosActualizaPaciente.documentoIdentidad(),
                 datosActualizaPaciente.direccion()
         );
 
-        // Guardar la nueva instancia actualizada
-        return pacienteRepository.save(pacienteActualizado);
+        // Guardar la nueva instancia actualizada; la clave de la caché es el id, no la instancia
+        Paciente pacienteGuardado = pacienteRepository.save(pacienteActualizado);
+        cachePacientes.invalidar(pacienteGuardado.getId());
+        return pacienteGuardado;
     }
 
 
     @Transactional
-    public void desactivarPaciente(Long id) {
-        Paciente pacienteExistente = pacienteRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(""));
+    public int actualizarParcialmente(final Long id, final DatosActualizaParcialPaciente datos) {
+        // Un solo UPDATE con los campos informados; un documento repetido lo rechaza uk_pacientes_documento_identidad
+        clavesDePacientes.agregar(null, datos.documentoIdentidad());
+        int filas = pacienteRepository.actualizarParcialmente(id, datos);
+        if (filas == 0) {
+            throw new EntityNotFoundException("");
+        }
+        cachePacientes.invalidar(id);
+        return filas;
+    }
 
-        // Crear una nueva instancia desactivada
-        Paciente pacienteDesactivado = pacienteExistente.desactivarPaciente();
+    @Transactional
+    public void desactivarPaciente(Long id) {
+        // Un solo UPDATE condicional; solo cuando no afecta filas se consulta el motivo
+        if (pacienteRepository.desactivar(id) == 0) {
+            if (!pacienteRepository.existsById(id)) {
+                throw new EntityNotFoundException("");
+            }
+            throw CodigoError.ERR_ALREADY_INACTIVE.rechazo();
+        }
+        cachePacientes.invalidar(id);
+    }
 
-        // Guardar la nueva instancia desactivada
-        pacienteRepository.save(pacienteDesactivado);
+    // Baja masiva en un solo UPDATE: devuelve cuántos estaban activos; los demás no existen o ya estaban de baja
+    @Transactional
+    public int desactivarPacientes(final Collection<Long> ids) {
+        int desactivados = pacienteRepository.desactivarTodos(ids);
+        ids.forEach(cachePacientes::invalidar);
+        return desactivados;
     }
 
     public DatosRespuestaPaciente obtenerPacientePorId(Long id) {
-        Paciente paciente = pacienteRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(""));
-        return new DatosRespuestaPaciente(paciente);
+        // La caché no vence por tiempo: una fila atrasada de una réplica quedaría hasta la próxima escritura
+        return cachePacientes.obtener(id, clave -> LecturaConsistente.obtener(() -> pacienteRepository.findById(clave)
+                .map(DatosRespuestaPaciente::new)
+                .orElseThrow(() -> new EntityNotFoundException(""))));
+    }
+
+    public DatosPaginaCursor<DatosListadoPaciente> listarPorCursor(final String cursor, final int tamano) {
+        int limite = CursorListado.tamanoValido(tamano);
+        // Se pide una fila de más para saber si hay otra página sin ejecutar un COUNT
+        Limit filas = Limit.of(limite + 1);
+
+        List<DatosListadoPaciente> pacientes;
+        if (cursor == null || cursor.isBlank()) {
+            pacientes = pacienteRepository.buscarListadoDesdeElInicio(filas);
+        } else {
+            CursorListado posicion = CursorListado.decodificar(cursor);
+            pacientes = pacienteRepository.buscarListadoDespuesDe(posicion.nombre(), posicion.id(), filas);
+        }
+
+        return DatosPaginaCursor.de(pacientes, limite, datos -> new CursorListado(datos.nombre(), datos.id()));
     }
 }
@@ -0,0 +1,57 @@
+package med.voll.api.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import med.voll.api.domain.cache.CacheLocal;
+import med.voll.api.domain.medico.DatosRespuestaMedico;
+import med.voll.api.domain.paciente.DatosRespuestaPaciente;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+
+    private final String politica;
+    private final int tamanoMaximo;
+
+    public CacheConfiguration(@Value("${api.cache.politica:w-tinylfu}") final String politica,
+                              @Value("${api.cache.tamano-maximo:10000}") final int tamanoMaximo) {
+        this.politica = politica;
+        this.tamanoMaximo = tamanoMaximo;
+    }
+
+    @Bean
+    public CacheLocal<Long, DatosRespuestaMedico> cacheMedicos() {
+        return CacheLocal.crear(politica, tamanoMaximo);
+    }
+
+    @Bean
+    public CacheLocal<Long, DatosRespuestaPaciente> cachePacientes() {
+        return CacheLocal.crear(politica, tamanoMaximo);
+    }
+
+    // Visibles en /actuator/metrics/cache.gets y /actuator/metrics/cache.evictions con el tag cache
+    @Bean
+    public MeterBinder metricasCacheLocal(final CacheLocal<Long, DatosRespuestaMedico> cacheMedicos,
+                                          final CacheLocal<Long, DatosRespuestaPaciente> cachePacientes) {
+        return registro -> {
+            registrar(registro, "medicos", cacheMedicos);
+            registrar(registro, "pacientes", cachePacientes);
+        };
+    }
+
+    private static void registrar(final MeterRegistry registro, final String nombre,
+                                  final CacheLocal<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, CacheLocal::aciertos)
+                .tags("cache", nombre, "result", "hit")
+                .register(registro);
+        FunctionCounter.builder("cache.gets", cache, CacheLocal::fallos)
+                .tags("cache", nombre, "result", "miss")
+                .register(registro);
+        FunctionCounter.builder("cache.evictions", cache, CacheLocal::desalojos)
+                .tags("cache", nombre)
+                .register(registro);
+    }
+}
@@ -0,0 +1,69 @@
+package med.voll.api.infra.datasource;
+
+import med.voll.api.domain.LecturaConsistente;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enruta cada conexión: las transacciones de solo lectura van a las réplicas por turnos y todo lo demás
+ * a la primaria. Debe usarse detrás de un LazyConnectionDataSourceProxy, para que la conexión se pida
+ * cuando la transacción ya declaró si es de solo lectura.
+ */
+public class DataSourceConReplicas extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARIA = "primaria";
+
+    private final List<DataSource> replicas;
+    private final GuardiaLecturaPropia guardiaLecturaPropia;
+    private final AtomicInteger turno = new AtomicInteger();
+
+    public DataSourceConReplicas(final DataSource primaria, final List<DataSource> replicas,
+                                 final Duration ventanaLecturaPropia) {
+        this.replicas = List.copyOf(replicas);
+        this.guardiaLecturaPropia = new GuardiaLecturaPropia(ventanaLecturaPropia);
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIA, primaria);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            destinos.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || replicas.isEmpty()
+                || LecturaConsistente.requerida()) {
+            return PRIMARIA;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            guardiaLecturaPropia.registrarEscrituraAlConfirmar();
+            return PRIMARIA;
+        }
+        if (guardiaLecturaPropia.escribioRecientemente()) {
+            return PRIMARIA;
+        }
+        return Math.floorMod(turno.getAndIncrement(), replicas.size());
+    }
+
+    // Spring lo invoca al cerrar el contexto; la primaria es un bean propio y se cierra sola
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package med.voll.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solo se activa con al menos una réplica en {@code api.datasource.replicas}; sin ellas queda
+ * el DataSource único que configura Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replicas[0].url")
+@EnableConfigurationProperties(PropiedadesReplicas.class)
+public class DataSourceConfiguration {
+
+    // La primaria se arma con spring.datasource y spring.datasource.hikari, igual que sin réplicas
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(final DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DataSourceConReplicas dataSourceConReplicas(final HikariDataSource dataSourcePrimaria,
+                                                       final PropiedadesReplicas propiedades) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < propiedades.replicas().size(); i++) {
+            replicas.add(crearReplica(i, propiedades.replicas().get(i)));
+        }
+        return new DataSourceConReplicas(dataSourcePrimaria, replicas, propiedades.ventanaLecturaPropia());
+    }
+
+    // El proxy difiere la conexión física hasta la primera sentencia, cuando ya se sabe si la transacción es de solo lectura
+    @Bean
+    @Primary
+    public DataSource dataSource(final DataSourceConReplicas dataSourceConReplicas) {
+        return new LazyConnectionDataSourceProxy(dataSourceConReplicas);
+    }
+
+    private static HikariDataSource crearReplica(final int indice, final PropiedadesReplicas.Replica replica) {
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + indice);
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username());
+        dataSource.setPassword(replica.password());
+        dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,68 @@
+package med.voll.api.infra.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lee-tus-escrituras: tras confirmar una transacción de escritura, las lecturas del mismo usuario
+ * van a la primaria durante la ventana configurada, el tiempo que puede tardar la réplica en alcanzarla.
+ */
+class GuardiaLecturaPropia {
+
+    private final long ventanaNanos;
+
+    // usuario -> instante (nanoTime) de su última escritura confirmada
+    private final Map<String, Long> ultimaEscritura = new ConcurrentHashMap<>();
+
+    GuardiaLecturaPropia(final Duration ventana) {
+        this.ventanaNanos = ventana.toNanos();
+    }
+
+    // Se llama al tomar la conexión de una transacción de escritura; se registra una vez por transacción
+    void registrarEscrituraAlConfirmar() {
+        String usuario = usuarioActual();
+        if (usuario == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, usuario);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ultimaEscritura.put(usuario, System.nanoTime());
+            }
+
+            @Override
+            public void afterCompletion(final int estado) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(GuardiaLecturaPropia.this);
+            }
+        });
+    }
+
+    boolean escribioRecientemente() {
+        String usuario = usuarioActual();
+        if (usuario == null) {
+            return false;
+        }
+        Long instante = ultimaEscritura.get(usuario);
+        if (instante == null) {
+            return false;
+        }
+        if (System.nanoTime() - instante < ventanaNanos) {
+            return true;
+        }
+        ultimaEscritura.remove(usuario, instante);
+        return false;
+    }
+
+    private static String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion != null && autenticacion.isAuthenticated() ? autenticacion.getName() : null;
+    }
+}
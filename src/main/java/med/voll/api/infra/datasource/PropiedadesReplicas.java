@@ -0,0 +1,22 @@
+package med.voll.api.infra.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "api.datasource")
+public record PropiedadesReplicas(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration ventanaLecturaPropia
+) {
+
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
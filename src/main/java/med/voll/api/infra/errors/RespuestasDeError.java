@@ -0,0 +1,42 @@
+package med.voll.api.infra.errors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.CodigoError;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Respuestas de error serializadas una sola vez al arrancar; ResponseEntity deja las cabeceras en solo lectura
+@Component
+public class RespuestasDeError {
+
+    private final Map<CodigoError, ResponseEntity<byte[]>> respuestas = new EnumMap<>(CodigoError.class);
+
+    public RespuestasDeError(final ObjectMapper objectMapper) {
+        for (CodigoError codigo : CodigoError.values()) {
+            respuestas.put(codigo, ResponseEntity.status(codigo.estado())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(serializar(objectMapper, codigo)));
+        }
+    }
+
+    public ResponseEntity<byte[]> para(final CodigoError codigo) {
+        return respuestas.get(codigo);
+    }
+
+    private static byte[] serializar(final ObjectMapper objectMapper, final CodigoError codigo) {
+        Map<String, String> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("code", codigo.name());
+        cuerpo.put("message", codigo.mensaje());
+        try {
+            return objectMapper.writeValueAsBytes(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de " + codigo, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package med.voll.api.infra.exportacion;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escribe un Stream de JPA como NDJSON (un objeto JSON por línea) a medida que llegan las filas.
+ * La transacción de solo lectura mantiene abierto el cursor mientras se escribe; si el cliente lee
+ * despacio, la escritura en la salida del servlet se bloquea y deja de avanzar el cursor.
+ */
+@Component
+public class ExportadorNdjson {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    // Cada cuántas filas se empuja lo escrito al cliente
+    private static final int FILAS_POR_ENVIO = 500;
+
+    private final ObjectWriter escritor;
+    private final TransactionTemplate transaccionDeLectura;
+
+    public ExportadorNdjson(final ObjectMapper objectMapper, final PlatformTransactionManager transactionManager) {
+        // Sin flush por fila (se envía por bloques) y con salto de línea entre objetos en lugar de espacio
+        this.escritor = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.transaccionDeLectura = new TransactionTemplate(transactionManager);
+        this.transaccionDeLectura.setReadOnly(true);
+    }
+
+    public <T> void exportar(final Supplier<Stream<T>> consulta, final HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream salida = response.getOutputStream();
+
+        try {
+            transaccionDeLectura.executeWithoutResult(estado -> {
+                try (Stream<T> filas = consulta.get()) {
+                    escribir(filas, salida);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente cortó la descarga
+            throw e.getCause();
+        }
+    }
+
+    private <T> void escribir(final Stream<T> filas, final OutputStream salida) throws IOException {
+        // El generador no debe cerrar la salida del servlet; el contenedor la cierra al terminar
+        try (JsonGenerator generador = escritor.createGenerator(salida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            int escritas = 0;
+            Iterator<T> iterador = filas.iterator();
+            while (iterador.hasNext()) {
+                escritor.writeValue(generador, iterador.next());
+                if (++escritas % FILAS_POR_ENVIO == 0) {
+                    generador.flush();
+                }
+            }
+            if (escritas > 0) {
+                generador.writeRaw('\n');
+            }
+            generador.flush();
+        }
+    }
+}
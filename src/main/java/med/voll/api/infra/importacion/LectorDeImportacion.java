@@ -0,0 +1,101 @@
+package med.voll.api.infra.importacion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import med.voll.api.domain.importacion.FilaImportacion;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Lee el cuerpo de una importación fila a fila, sin cargar el archivo completo: un arreglo JSON
+ * o un CSV con encabezado. Una fila que no se puede convertir se informa y la lectura continúa.
+ */
+@Component
+public class LectorDeImportacion {
+
+    public static final String CSV = "text/csv";
+
+    private static final String FILA_ILEGIBLE = "La fila no tiene un formato válido";
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public LectorDeImportacion(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> Iterator<FilaImportacion<T>> leer(final InputStream entrada, final String contentType, final Class<T> tipo,
+                                                 final Function<Map<String, String>, T> desdeCsv) throws IOException {
+        if (contentType != null && contentType.startsWith(CSV)) {
+            MappingIterator<Map<String, String>> filas = csvMapper
+                    .readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(entrada);
+            return new Filas<>(filas, desdeCsv);
+        }
+        // Un arreglo JSON en la raíz se recorre elemento por elemento
+        MappingIterator<T> filas = objectMapper.readerFor(tipo).readValues(entrada);
+        return new Filas<>(filas, Function.identity());
+    }
+
+    private static final class Filas<L, T> implements Iterator<FilaImportacion<T>> {
+
+        private final MappingIterator<L> lector;
+        private final Function<L, T> convertir;
+        private int numero;
+        private String errorDeLectura;
+        private boolean terminado;
+
+        private Filas(final MappingIterator<L> lector, final Function<L, T> convertir) {
+            this.lector = lector;
+            this.convertir = convertir;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (terminado) {
+                return false;
+            }
+            try {
+                return lector.hasNextValue();
+            } catch (IOException e) {
+                // Sintaxis rota: no se puede seguir leyendo, pero el error se informa como una fila más
+                errorDeLectura = mensaje(e);
+                return true;
+            }
+        }
+
+        @Override
+        public FilaImportacion<T> next() {
+            if (terminado) {
+                throw new NoSuchElementException();
+            }
+            numero++;
+            if (errorDeLectura != null) {
+                terminado = true;
+                return FilaImportacion.invalida(numero, errorDeLectura);
+            }
+            try {
+                return FilaImportacion.valida(numero, convertir.apply(lector.nextValue()));
+            } catch (IOException | RuntimeException e) {
+                return FilaImportacion.invalida(numero, mensaje(e));
+            }
+        }
+
+        private static String mensaje(final Exception e) {
+            if (e instanceof JsonProcessingException json) {
+                return json.getOriginalMessage();
+            }
+            return e.getMessage() == null || e.getMessage().isBlank() ? FILA_ILEGIBLE : e.getMessage();
+        }
+    }
+}
@@ -20,11 +20,14 @@ public class AutenticacionService implements UserDetailsService {
     private final UsuarioRepository usuarioRepository;
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
+    private final TokensVerificados tokensVerificados;
 
-    public AutenticacionService(@Lazy AuthenticationManager authenticationManager, TokenService tokenService, UsuarioRepository usuarioRepository) {
+    public AutenticacionService(@Lazy AuthenticationManager authenticationManager, TokenService tokenService,
+                                UsuarioRepository usuarioRepository, TokensVerificados tokensVerificados) {
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
+        this.tokensVerificados = tokensVerificados;
     }
 
     @Override
@@ -71,4 +74,9 @@ public class AutenticacionService implements UserDetailsService {
             throw new BadCredentialsException("ERR_INVALID_PASSWORD");
         }
     }
+
+    // El filtro ya autenticó la solicitud con este token; desde ahora se rechaza hasta su vencimiento
+    public void cerrarSesion(final String token) {
+        tokensVerificados.revocar(token);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package med.voll.api.infra.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+// Lo que el filtro necesita de un token ya verificado: firma, issuer y expiración se comprobaron una vez
+public record DatosTokenVerificado(
+        String login,
+        Long id,
+        List<GrantedAuthority> autoridades,
+        Instant expiracion
+) {
+
+    public DatosTokenVerificado {
+        autoridades = List.copyOf(autoridades);
+    }
+
+    // El claim rol es una lista separada por comas
+    static List<GrantedAuthority> autoridadesDe(final String roles) {
+        if (roles == null || roles.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(","))
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
@@ -8,26 +8,26 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final TokenService tokenService;
+    // Cuerpos de error precalculados: cada rechazo solo copia bytes a la respuesta
+    private static final byte[] TOKEN_MAL_FORMADO = cuerpoDeError("ERR_MALFORMED_TOKEN", "Token mal formado");
+    private static final byte[] TOKEN_EXPIRADO = cuerpoDeError("ERR_TOKEN_EXPIRED", "El token ha expirado");
+    private static final byte[] TOKEN_NO_VALIDADO = cuerpoDeError("ERR_INVALID_TOKEN", "Error al validar el token");
+    private static final byte[] TOKEN_REVOCADO = cuerpoDeError("ERR_TOKEN_REVOKED", "El token fue revocado");
 
-    public JwtAuthenticationFilter(TokenService tokenService) {
-        this.tokenService = tokenService;
+    private final TokensVerificados tokensVerificados;
+
+    public JwtAuthenticationFilter(TokensVerificados tokensVerificados) {
+        this.tokensVerificados = tokensVerificados;
     }
 
     @Override
@@ -38,27 +38,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (token != null && token.startsWith("Bearer ")) {
             token = token.replace("Bearer ", "");
             try {
-                if (tokenService.validarToken(token)) {
-                    String username = tokenService.getUsernameFromToken(token);
-                    String roles = tokenService.getRolesFromToken(token); // Extraer roles como cadena
-                    List<GrantedAuthority> authorities = Arrays.stream(roles.split(","))
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList()); // Convertir a lista de authorities
-
-                    var authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } else {
-                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "ERR_INVALID_TOKEN", "Token inválido o expirado");
-                    return;
-                }
+                // Un token ya visto sale de la caché sin parsear; uno nuevo se verifica una vez
+                DatosTokenVerificado verificado = tokensVerificados.verificar(token);
+                var authentication = new UsernamePasswordAuthenticationToken(verificado.login(), null, verificado.autoridades());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (TokenRevocadoException e) {
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, TOKEN_REVOCADO);
+                return;
             } catch (MalformedJwtException e) {
-                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "ERR_MALFORMED_TOKEN", "Token mal formado");
+                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, TOKEN_MAL_FORMADO);
                 return;
             } catch (ExpiredJwtException e) {
-                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "ERR_TOKEN_EXPIRED", "El token ha expirado");
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, TOKEN_EXPIRADO);
                 return;
             } catch (JwtException e) {
-                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "ERR_INVALID_TOKEN", "Error al validar el token");
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, TOKEN_NO_VALIDADO);
                 return;
             }
         }
@@ -66,24 +60,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void sendErrorResponse(HttpServletResponse response, int statusCode, String code, String message) throws IOException {
+    private void sendErrorResponse(HttpServletResponse response, int statusCode, byte[] cuerpo) throws IOException {
         response.setStatus(statusCode);
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("code", code);
-        errorResponse.put("message", message);
-        response.setContentType("application/json");
-        response.getWriter().write(convertMapToJson(errorResponse));
+        response.setContentType("application/json;charset=UTF-8");
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
     }
 
-    private String convertMapToJson(Map<String, String> map) {
-        StringBuilder json = new StringBuilder("{");
-        for (Map.Entry<String, String> entry : map.entrySet()) {
-            json.append("\"").append(entry.getKey()).append("\": \"").append(entry.getValue()).append("\", ");
-        }
-        if (json.length() > 1) {
-            json.setLength(json.length() - 2);
-        }
-        json.append("}");
-        return json.toString();
+    // Se arma una sola vez; los mensajes son constantes sin caracteres que escapar
+    private static byte[] cuerpoDeError(String code, String message) {
+        return ("{\"code\": \"" + code + "\", \"message\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
@@ -51,6 +51,8 @@ public class SecurityConfiguration {
                         // Cualquier otra solicitud debe estar autenticada
                         .anyRequest().authenticated()
                 )
+                // POST /logout cae en anyRequest().authenticated(): exige un token válido, que es el que se revoca
+                .logout(logout -> logout.disable()) // /logout lo atiende AutenticacionController y revoca el JWT
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class) // Filtro para JWT
                 .build();
     }
@@ -0,0 +1,16 @@
+package med.voll.api.infra.security;
+
+import io.jsonwebtoken.JwtException;
+
+// Token con firma válida pero cerrado con /logout; sin traza: es un rechazo esperado
+class TokenRevocadoException extends JwtException {
+
+    TokenRevocadoException() {
+        super("Token revocado");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -4,8 +4,8 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import med.voll.api.domain.usuario.Usuario;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -16,11 +16,23 @@ import java.util.Map;
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "voll med";
+
     private final String SECRET;
 
+    // Clave y parser se arman una sola vez y se comparten: JwtParser es inmutable y seguro entre hilos.
+    // Se crean en el primer uso para que un secreto corto falle al firmar o verificar, no al arrancar
+    private final SingletonSupplier<SecretKey> secretKey;
+    private final SingletonSupplier<JwtParser> parser;
+
     // Constructor para inyectar el valor de SECRET
     public TokenService(@Value("${api.security.secret}") String secret) {
         this.SECRET = secret;
+        this.secretKey = SingletonSupplier.of(() -> Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)));
+        this.parser = SingletonSupplier.of(() -> Jwts.parser()
+                .verifyWith(secretKey.obtain())
+                .requireIssuer(ISSUER) // Verifica que el issuer sea correcto
+                .build());
     }
 
     public String getSecretKey() {
@@ -37,60 +49,31 @@ public class TokenService {
         claims.put("id", datosJwtToken.id());
         claims.put("rol", datosJwtToken.rol());
 
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
-                .setIssuer("voll med")
-                .addClaims(claims)
-                .setSubject(datosJwtToken.login()) // El subject es el login del usuario
-                .setIssuedAt(now)
-                .setExpiration(expirationDate)
-                .signWith(secretKey)
+                .issuer(ISSUER)
+                .claims(claims)
+                .subject(datosJwtToken.login()) // El subject es el login del usuario
+                .issuedAt(now)
+                .expiration(expirationDate)
+                .signWith(secretKey.obtain())
                 .compact();
     }
 
-    // Validar el token (sin try-catch, lanzando excepciones)
-    public boolean validarToken(String token) {
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // Un solo parseo por solicitud: firma, issuer y expiración; lanza JwtException si algo no cuadra
+    public DatosTokenVerificado verificar(String token) {
+        Claims claims = parser.obtain().parseSignedClaims(token).getPayload();
 
-        Jws<Claims> jws = Jwts.parser()
-                .setSigningKey(secretKey)
-                .requireIssuer("voll med") // Verifica que el issuer sea correcto
-                .build()
-                .parseClaimsJws(token);  // Esto validará el token
-
-        // Verificar si el "subject" (usuario) es nulo y lanzar una excepción si es el caso
-        if (jws.getBody().getSubject() == null) {
-            throw new RuntimeException("Verifier invalid");
+        // Verificar si el "subject" (usuario) es nulo
+        if (claims.getSubject() == null) {
+            throw new JwtException("Token sin subject");
         }
 
-        return true;
-    }
-
-    // Obtener el "subject" del token (nombre de usuario)
-    public String getUsernameFromToken(String token) {
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-
-        Jws<Claims> jws = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
-
-        // Retornar el 'subject' (login) que se guarda en el token
-        return jws.getBody().getSubject();
-    }
-
-    // Obtener los roles del token
-    public String getRolesFromToken(String token) {
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-
-        Jws<Claims> jws = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
-
-        // Retornar los roles como una cadena
-        return jws.getBody().get("rol", String.class);
+        return new DatosTokenVerificado(
+                claims.getSubject(),
+                claims.get("id", Long.class),
+                DatosTokenVerificado.autoridadesDe(claims.get("rol", String.class)),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 
 }
@@ -0,0 +1,115 @@
+package med.voll.api.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import med.voll.api.domain.CodigoError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Tokens ya verificados, por SHA-256 del token: un acierto no decodifica, no parsea ni recalcula el HMAC.
+ * Cada entrada vence con el exp del token. Solo entran tokens válidos, así que los tokens inventados
+ * no ocupan memoria; el tope de tamaño acota además a los usuarios legítimos.
+ * Métricas en /actuator/metrics/cache.gets y cache.evictions con el tag cache=tokens.
+ */
+@Component
+public class TokensVerificados implements MeterBinder {
+
+    private final TokenService tokenService;
+    private final Cache<String, DatosTokenVerificado> verificados;
+
+    // Sin maximumSize: desalojar una revocación reactivaría el token. El tope se aplica al revocar
+    // y cada entrada vence con su exp, así que el espacio se libera solo
+    private final Cache<String, Instant> revocados;
+    private final long maximoRevocados;
+
+    public TokensVerificados(final TokenService tokenService,
+                             @Value("${api.security.cache-tokens.tamano-maximo:10000}") final int tamanoMaximo,
+                             @Value("${api.security.cache-tokens.revocados-maximo:100000}") final long maximoRevocados) {
+        this.tokenService = tokenService;
+        this.maximoRevocados = maximoRevocados;
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfter(hastaElVencimiento(DatosTokenVerificado::expiracion))
+                .recordStats()
+                .build();
+        this.revocados = Caffeine.newBuilder()
+                .expireAfter(hastaElVencimiento((Instant expiracion) -> expiracion))
+                .build();
+    }
+
+    public DatosTokenVerificado verificar(final String token) {
+        String clave = resumen(token);
+        if (revocados.getIfPresent(clave) != null) {
+            throw new TokenRevocadoException();
+        }
+        // Si la verificación lanza una excepción no se guarda nada
+        return verificados.get(clave, sinUso -> tokenService.verificar(token));
+    }
+
+    // Cierre de sesión: el token deja de aceptarse en esta instancia hasta que vence por sí mismo
+    public void revocar(final String token) {
+        DatosTokenVerificado verificado = verificar(token);
+        if (!hayLugarParaRevocar()) {
+            throw CodigoError.ERR_LOGOUT_UNAVAILABLE.rechazo();
+        }
+        String clave = resumen(token);
+        revocados.put(clave, verificado.expiracion() != null ? verificado.expiracion() : Instant.now());
+        verificados.invalidate(clave);
+    }
+
+    // Con la caché llena se descartan primero las revocaciones vencidas que aún no se limpiaron
+    private boolean hayLugarParaRevocar() {
+        if (revocados.estimatedSize() < maximoRevocados) {
+            return true;
+        }
+        revocados.cleanUp();
+        return revocados.estimatedSize() < maximoRevocados;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registro) {
+        CaffeineCacheMetrics.monitor(registro, verificados, "tokens");
+    }
+
+    private static String resumen(final String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static <V> Expiry<String, V> hastaElVencimiento(final Function<V, Instant> expiracion) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(final String clave, final V valor, final long ahora) {
+                Instant vence = expiracion.apply(valor);
+                return vence == null ? 0 : Math.max(0, Duration.between(Instant.now(), vence).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(final String clave, final V valor, final long ahora, final long restante) {
+                return expireAfterCreate(clave, valor, ahora);
+            }
+
+            @Override
+            public long expireAfterRead(final String clave, final V valor, final long ahora, final long restante) {
+                return restante;
+            }
+        };
+    }
+}
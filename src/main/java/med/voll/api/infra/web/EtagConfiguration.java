@@ -0,0 +1,20 @@
+package med.voll.api.infra.web;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class EtagConfiguration {
+
+    // Los listados no tienen una versión propia: el ETag es el hash del cuerpo y el 304 ahorra la transferencia.
+    // Solo las rutas exactas; la exportación NDJSON no debe quedar en memoria para calcular un hash.
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagListados() {
+        var registro = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registro.addUrlPatterns("/medicos", "/pacientes");
+        registro.setName("etagListados");
+        return registro;
+    }
+}
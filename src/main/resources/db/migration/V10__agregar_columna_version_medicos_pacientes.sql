@@ -0,0 +1,3 @@
+-- Control de concurrencia optimista y ETag de GET /medicos/{id} y GET /pacientes/{id}
+ALTER TABLE medicos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pacientes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- consultas (medico_id, fecha) ya está cubierto por uk_consultas_medico_fecha (V8):
+-- existsByMedicoIdAndFecha y el NOT EXISTS de la elección de médico lo usan como índice de búsqueda
+
+-- existsByPacienteIdAndFechaBetween, contexto de reserva y cancelación por paciente.
+-- MySQL descarta el índice implícito de fk_paciente porque este también sirve a la clave foránea
+CREATE INDEX idx_consultas_paciente_fecha ON consultas (paciente_id, fecha);
+
+-- Carga de la agenda desde hoy y cancelación por rango sin médico ni paciente
+CREATE INDEX idx_consultas_fecha ON consultas (fecha);
+
+-- Médicos activos por especialidad: elección aleatoria, menos cargado y disponibilidad.
+-- El nombre al final deja las filas ya ordenadas para los listados por especialidad
+CREATE INDEX idx_medicos_activo_especialidad_nombre ON medicos (activo, especialidad, nombre);
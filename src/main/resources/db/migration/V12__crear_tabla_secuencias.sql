@@ -0,0 +1,13 @@
+-- Generador por tabla con optimizador pooled (allocationSize = 50) para medicos, pacientes y consultas.
+-- Hibernate lee "siguiente" como el techo de un bloque de 50 ids y lo avanza en 50 por bloque:
+-- sembrar MAX(id) + 100 deja el primer bloque por encima de todos los ids existentes.
+-- La columna id conserva AUTO_INCREMENT, pero la aplicación ya no inserta filas sin id.
+CREATE TABLE secuencias (
+    nombre VARCHAR(50) NOT NULL,
+    siguiente BIGINT NOT NULL,
+    PRIMARY KEY (nombre)
+);
+
+INSERT INTO secuencias (nombre, siguiente) SELECT 'medicos', COALESCE(MAX(id), 0) + 100 FROM medicos;
+INSERT INTO secuencias (nombre, siguiente) SELECT 'pacientes', COALESCE(MAX(id), 0) + 100 FROM pacientes;
+INSERT INTO secuencias (nombre, siguiente) SELECT 'consultas', COALESCE(MAX(id), 0) + 100 FROM consultas;
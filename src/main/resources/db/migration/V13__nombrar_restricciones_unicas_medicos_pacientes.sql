@@ -0,0 +1,6 @@
+-- El alta puede omitir las consultas de existencia (filtro de Bloom): la violación de UNIQUE
+-- se traduce a ERR_DUPLICATE_EMAIL o ERR_DUPLICATE_DOCUMENT por el nombre de la restricción
+ALTER TABLE medicos RENAME INDEX email TO uk_medicos_email;
+ALTER TABLE medicos RENAME INDEX documento TO uk_medicos_documento;
+ALTER TABLE pacientes RENAME INDEX email TO uk_pacientes_email;
+ALTER TABLE pacientes RENAME INDEX documento_identidad TO uk_pacientes_documento_identidad;
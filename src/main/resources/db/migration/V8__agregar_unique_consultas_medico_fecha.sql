@@ -0,0 +1,2 @@
+ALTER TABLE consultas
+ADD CONSTRAINT uk_consultas_medico_fecha UNIQUE (medico_id, fecha);
@@ -0,0 +1,4 @@
+-- Listados por cursor: WHERE activo = 1 AND (nombre, id) > (?, ?) ORDER BY nombre, id
+-- InnoDB agrega la clave primaria (id) al final de cada índice secundario
+CREATE INDEX idx_medicos_activo_nombre ON medicos (activo, nombre);
+CREATE INDEX idx_pacientes_activo_nombre ON pacientes (activo, nombre);
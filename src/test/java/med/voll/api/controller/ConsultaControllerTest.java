@@ -1,5 +1,6 @@
 package med.voll.api.controller;
 
+import med.voll.api.domain.CodigoError;
 import med.voll.api.domain.consulta.*;
 import med.voll.api.domain.medico.Especialidad;
 import med.voll.api.domain.medico.Medico;
@@ -19,7 +20,10 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.security.test.context.support.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +32,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 @SpringBootTest
@@ -47,9 +52,24 @@ class ConsultaControllerTest {
     @Autowired
     private JacksonTester<DatosCancelamientoConsulta> datosCancelamientoConsultaJson;
 
+    @Autowired
+    private JacksonTester<DatosReservaLote> datosReservaLoteJson;
+
+    @Autowired
+    private JacksonTester<DatosCancelamientoLote> datosCancelamientoLoteJson;
+
     @MockBean
     private ReservaDeConsultas reservaDeConsultas;
 
+    @MockBean
+    private ReservaEnLoteDeConsultas reservaEnLoteDeConsultas;
+
+    @MockBean
+    private DisponibilidadDeConsultas disponibilidadDeConsultas;
+
+    @MockBean
+    private ColaDeReservas colaDeReservas;
+
     @Test
     @DisplayName("Debería devolver http 400 cuando la request no tenga datos")
     @WithMockUser
@@ -107,6 +127,73 @@ class ConsultaControllerTest {
         JSONAssert.assertEquals(jsonEsperado, response.getContentAsString(UTF_8), false);
     }
 
+    @Test
+    @DisplayName("Debería devolver el cuerpo registrado para el código cuando la reserva es rechazada")
+    @WithMockUser
+    void reserva_escenario3() throws Exception {
+        // Arrange: el servicio rechaza la consulta por estar fuera del horario
+        var datosReservaConsulta = new DatosReservaConsulta(1L, 2L, LocalDateTime.of(2099, 12, 20, 22, 0), Especialidad.CARDIOLOGIA);
+        when(reservaDeConsultas.reservar(any(DatosReservaConsulta.class)))
+                .thenThrow(CodigoError.OUT_OF_BUSINESS_HOURS.rechazo());
+
+        // Act
+        var response = mockMvc.perform(post("/consultas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(datosReservaConsultaJson.write(datosReservaConsulta).getJson()))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        JSONAssert.assertEquals("""
+                {"code": "OUT_OF_BUSINESS_HOURS", "message": "Fuera del horario de atención!"}
+                """, response.getContentAsString(UTF_8), true);
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 202 con el ticket cuando la reserva es asíncrona")
+    @WithMockUser
+    void reservaAsincrona_escenario1() throws Exception {
+        // Arrange
+        var fechaConsulta = LocalDateTime.of(2099, 12, 21, 10, 0);
+        var datosReservaConsulta = new DatosReservaConsulta(1L, 2L, fechaConsulta, Especialidad.CARDIOLOGIA);
+        var ticket = DatosTicketReserva.pendiente(UUID.fromString("6f1c2a4e-8d3b-4a5f-9e7c-1b2d3c4e5f60"), fechaConsulta);
+        when(colaDeReservas.encolar(any(DatosReservaConsulta.class))).thenReturn(ticket);
+
+        // Act
+        var response = mockMvc.perform(post("/consultas")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(datosReservaConsultaJson.write(datosReservaConsulta).getJson()))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.ACCEPTED.value());
+        assertThat(response.getHeader("Location")).endsWith("/consultas/tickets/6f1c2a4e-8d3b-4a5f-9e7c-1b2d3c4e5f60");
+        JSONAssert.assertEquals("""
+                {"code": "ACCEPTED", "ticket": {"estado": "PENDIENTE", "code": "PENDING", "fecha": "21/12/2099 10:00"}}
+                """, response.getContentAsString(UTF_8), false);
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 404 cuando el ticket no existe")
+    @WithMockUser
+    void ticket_escenario1() throws Exception {
+        // Arrange
+        when(colaDeReservas.consultar(any(UUID.class))).thenThrow(CodigoError.ERR_TICKET_NOT_FOUND.rechazo());
+
+        // Act
+        var response = mockMvc.perform(get("/consultas/tickets/{id}", UUID.randomUUID()))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        JSONAssert.assertEquals("""
+                {"code": "ERR_TICKET_NOT_FOUND"}
+                """, response.getContentAsString(UTF_8), false);
+    }
+
     @Test
     @DisplayName("Debería devolver http 204 cuando la request no tenga datos")
     @WithMockUser
@@ -130,4 +217,118 @@ class ConsultaControllerTest {
         // Assert: Verificar el estado HTTP
         assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT.value()); // HTTP 204 NO CONTENT
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debería devolver http 400 cuando el lote esté vacío")
+    @WithMockUser
+    void reservaEnLote_escenario1() throws Exception {
+        var response = mockMvc.perform(post("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"consultas\": []}"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 200 con un código por cada consulta del lote")
+    @WithMockUser
+    void reservaEnLote_escenario2() throws Exception {
+        // Arrange: un lote con una consulta aceptada y otra rechazada
+        var fechaConsulta = LocalDateTime.of(2099, 12, 21, 10, 0);
+        var datosReservaLote = new DatosReservaLote(List.of(
+                new DatosReservaConsulta(null, 2L, fechaConsulta, Especialidad.CARDIOLOGIA),
+                new DatosReservaConsulta(null, 2L, fechaConsulta, Especialidad.CARDIOLOGIA)
+        ));
+
+        var resultado = new DatosResultadoReservaLote(2, 1, List.of(
+                new DatosResultadoItemLote(0, "CREATED", 1L, fechaConsulta),
+                new DatosResultadoItemLote(1, "DUPLICATE_APPOINTMENT", null, fechaConsulta)
+        ));
+        when(reservaEnLoteDeConsultas.reservar(any(DatosReservaLote.class))).thenReturn(resultado);
+
+        var jsonEsperado = """
+            {
+                "code": "BATCH_PROCESSED",
+                "resultado": {
+                    "total": 2,
+                    "reservadas": 1,
+                    "resultados": [
+                        {"indice": 0, "code": "CREATED", "idMedico": 1},
+                        {"indice": 1, "code": "DUPLICATE_APPOINTMENT"}
+                    ]
+                }
+            }
+            """;
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(post("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(datosReservaLoteJson.write(datosReservaLote).getJson()))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals(jsonEsperado, response.getContentAsString(UTF_8), false);
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 200 con los horarios libres de cada médico")
+    @WithMockUser
+    void disponibilidad_escenario1() throws Exception {
+        // Arrange
+        var horarioLibre = LocalDateTime.of(2099, 12, 21, 8, 0);
+        when(disponibilidadDeConsultas.buscarHorariosLibres(Especialidad.CARDIOLOGIA, LocalDate.of(2099, 12, 21), LocalDate.of(2099, 12, 21)))
+                .thenReturn(List.of(new DatosDisponibilidadMedico(1L, "Dr. Juan", List.of(horarioLibre))));
+
+        // Act
+        var response = mockMvc.perform(get("/consultas/disponibilidad")
+                        .param("especialidad", "CARDIOLOGIA")
+                        .param("desde", "21/12/2099")
+                        .param("hasta", "21/12/2099"))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+                [{"idMedico": 1, "nombre": "Dr. Juan", "horariosLibres": ["21/12/2099 08:00"]}]
+                """, response.getContentAsString(UTF_8), false);
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 400 cuando la cancelación en lote no tenga motivo")
+    @WithMockUser
+    void cancelaEnLote_escenario1() throws Exception {
+        var response = mockMvc.perform(delete("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idMedico\": 1}"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 200 con la cantidad de consultas canceladas")
+    @WithMockUser
+    void cancelaEnLote_escenario2() throws Exception {
+        // Arrange
+        var datosCancelamientoLote = new DatosCancelamientoLote(1L, null, null, null, MotivoCancelamiento.MÉDICO_CANCELO);
+        when(reservaDeConsultas.cancelarEnLote(any(DatosCancelamientoLote.class)))
+                .thenReturn(new DatosResultadoCancelamientoLote(3));
+
+        // Act
+        var response = mockMvc.perform(delete("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(datosCancelamientoLoteJson.write(datosCancelamientoLote).getJson()))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+                {"code": "BATCH_CANCELLED", "resultado": {"canceladas": 3}}
+                """, response.getContentAsString(UTF_8), false);
+    }
+}
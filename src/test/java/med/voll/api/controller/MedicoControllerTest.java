@@ -1,7 +1,14 @@
 package med.voll.api.controller;
 
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.CursorListado;
+import med.voll.api.domain.DatosPaginaCursor;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
 import med.voll.api.domain.direccion.DatosDireccion;
 import med.voll.api.domain.direccion.Direccion;
+import med.voll.api.domain.importacion.DatosErrorImportacion;
+import med.voll.api.domain.importacion.DatosResultadoImportacion;
+import med.voll.api.domain.importacion.FilaImportacion;
 import med.voll.api.domain.medico.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,12 +26,19 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.security.test.context.support.*;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 
@@ -42,6 +56,9 @@ class MedicoControllerTest {
     @MockBean
     private MedicoService medicoService;
 
+    @MockBean
+    private ImportacionDeMedicos importacionDeMedicos;
+
     @Autowired
     private JacksonTester<DatosRegistroMedico> datosRegistroMedicoJson;
 
@@ -56,7 +73,7 @@ class MedicoControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void listaMedicos1() throws Exception {
         // Arrange: Mock del repositorio devolviendo una página vacía
-        when(medicoRepository.findByActivoTrue(any(Pageable.class)))
+        when(medicoRepository.buscarListado(any(Pageable.class)))
                 .thenReturn(Page.empty());
 
         // Act: Realiza la petición GET
@@ -70,6 +87,156 @@ class MedicoControllerTest {
         assertThat(response.getContentAsString()).contains("\"content\":[]", "\"empty\":true");
     }
 
+    @Test
+    @DisplayName("Debería devolver http 200 sin total de elementos cuando se pide total=false")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void listaMedicosSinTotal1() throws Exception {
+        // Arrange: un Slice con un médico y página siguiente
+        var medico = new DatosListadoMedico(1L, "Ana", Especialidad.CARDIOLOGIA, "123456", "ana@mail.com");
+        when(medicoRepository.buscarListadoSinTotal(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(medico), PageRequest.of(0, 1), true));
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/medicos")
+                        .param("total", "false"))
+                .andReturn()
+                .getResponse();
+
+        // Assert: hay página siguiente pero no se informa el total
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).contains("\"last\":false").doesNotContain("totalElements");
+        verify(medicoRepository, never()).buscarListado(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 200 con el cursor de la siguiente página en el modo cursor")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void listaMedicosPorCursor1() throws Exception {
+        // Arrange: una página con un médico y cursor siguiente
+        var medico = new DatosListadoMedico(1L, "Ana", Especialidad.CARDIOLOGIA, "123456", "ana@mail.com");
+        var siguiente = new CursorListado("Ana", 1L).codificar();
+        when(medicoService.listarPorCursor("", 1))
+                .thenReturn(new DatosPaginaCursor<>(List.of(medico), siguiente));
+
+        // Act: Realiza la petición GET con el cursor vacío (primera página)
+        MockHttpServletResponse response = mockMvc.perform(get("/medicos")
+                        .param("cursor", "")
+                        .param("tamano", "1"))
+                .andReturn()
+                .getResponse();
+
+        // Assert: Verificar el estado HTTP y contenido de la respuesta
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+                {"contenido": [{"id": 1, "nombre": "Ana"}], "siguiente": "%s"}
+                """.formatted(siguiente), response.getContentAsString(UTF_8), false);
+        verify(medicoRepository, never()).buscarListado(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debería exportar los médicos como NDJSON, un objeto por línea")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void exportaMedicos1() throws Exception {
+        // Arrange: el repositorio entrega dos filas en streaming
+        when(medicoRepository.exportarListado()).thenReturn(Stream.of(
+                new DatosListadoMedico(1L, "Ana", Especialidad.CARDIOLOGIA, "123456", "ana@mail.com"),
+                new DatosListadoMedico(2L, "Bruno", Especialidad.PEDIATRIA, "654321", "bruno@mail.com")
+        ));
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/medicos/export"))
+                .andReturn()
+                .getResponse();
+
+        // Assert: una línea JSON por médico
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        String[] lineas = response.getContentAsString(UTF_8).split("\n");
+        assertThat(lineas).hasSize(2);
+        JSONAssert.assertEquals("{\"id\": 1, \"nombre\": \"Ana\"}", lineas[0], false);
+        JSONAssert.assertEquals("{\"id\": 2, \"nombre\": \"Bruno\"}", lineas[1], false);
+    }
+
+    @Test
+    @DisplayName("Debería responder las filas actualizadas por el PATCH sin volver a leer el médico")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void actualizaParcialmenteMedico1() throws Exception {
+        // Arrange
+        when(medicoService.actualizarParcialmente(eq(7L), any())).thenReturn(1);
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(patch("/medicos/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nombre": "Ana María", "direccion": {"ciudad": "Medellín"}}
+                                """))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+                {"code": "UPDATED", "id": 7, "filasActualizadas": 1}
+                """, response.getContentAsString(UTF_8), false);
+        verify(medicoService).actualizarParcialmente(7L, new DatosActualizaParcialMedico(
+                "Ana María", null, new DatosActualizaParcialDireccion(null, null, "Medellín", null, null)));
+        verify(medicoService, never()).obtenerDatosMedicoPorId(any());
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 400 cuando el PATCH informa un campo de la dirección en blanco")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void actualizaParcialmenteMedico2() throws Exception {
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(patch("/medicos/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"direccion": {"calle": " "}}
+                                """))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        verify(medicoService, never()).actualizarParcialmente(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debería leer el CSV fila a fila y devolver el reporte de errores de la importación")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void importaMedicos1() throws Exception {
+        // Arrange: el importador recibe las filas tal como las leyó el controlador
+        List<FilaImportacion<DatosRegistroMedico>> filasLeidas = new ArrayList<>();
+        when(importacionDeMedicos.importar(any())).thenAnswer(invocacion -> {
+            Iterator<FilaImportacion<DatosRegistroMedico>> filas = invocacion.getArgument(0);
+            filas.forEachRemaining(filasLeidas::add);
+            return new DatosResultadoImportacion(filasLeidas.size(), 1,
+                    List.of(new DatosErrorImportacion(2, "ERR_INVALID_REQUEST", "Especialidad no válida: Magia")));
+        });
+        String csv = """
+                nombre,telefono,email,documento,especialidad,calle,distrito,ciudad,numero,complemento
+                Ana,3001234567,ana@mail.com,1.234.567,cardiologia,Calle 1,Centro,Bogotá,10,Apto 1
+                Bruno,3007654321,bruno@mail.com,7.654.321,magia,Calle 2,Norte,Cali,20,Apto 2
+                """;
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(post("/medicos/import")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(UTF_8)))
+                .andReturn()
+                .getResponse();
+
+        // Assert: la primera fila se convierte, la segunda llega como error de lectura
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filasLeidas).hasSize(2);
+        assertThat(filasLeidas.get(0).datos().especialidad()).isEqualTo(Especialidad.CARDIOLOGIA);
+        assertThat(filasLeidas.get(0).datos().direccion().ciudad()).isEqualTo("Bogotá");
+        assertThat(filasLeidas.get(1).error()).contains("magia");
+        JSONAssert.assertEquals("""
+                {"code": "IMPORT_PROCESSED", "resultado": {"total": 2, "importadas": 1, "errores": [{"fila": 2, "code": "ERR_INVALID_REQUEST"}]}}
+                """, response.getContentAsString(UTF_8), false);
+    }
+
     @Test
     @DisplayName("Debería devolver http 201 cuando la request sea válida")
     @WithMockUser(username = "admin", roles = {"ADMIN"})
@@ -207,6 +374,90 @@ class MedicoControllerTest {
         JSONAssert.assertEquals(jsonEsperado, response.getContentAsString(UTF_8), false); // Validación del JSON
     }
 
+    @Test
+    @DisplayName("Debería devolver http 409 cuando el médico ya estaba desactivado")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void desactivaMedico4() throws Exception {
+        // Arrange
+        doThrow(CodigoError.ERR_ALREADY_INACTIVE.rechazo()).when(medicoService).desactivarMedico(1L);
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(delete("/medicos/{id}", 1L))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        JSONAssert.assertEquals("""
+                {"code": "ERR_ALREADY_INACTIVE"}
+                """, response.getContentAsString(UTF_8), false);
+    }
+
+    @Test
+    @DisplayName("Debería desactivar en lote los ids sin repetir y responder cuántos seguían activos")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void desactivaMedicos1() throws Exception {
+        // Arrange
+        when(medicoService.desactivarMedicos(any())).thenReturn(2);
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(delete("/medicos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [1, 2, 2, 3]}
+                                """))
+                .andReturn()
+                .getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+                {"code": "DELETED", "solicitados": 3, "desactivados": 2}
+                """, response.getContentAsString(UTF_8), false);
+        verify(medicoService).desactivarMedicos(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar la baja en lote sin ids")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void desactivaMedicos2() throws Exception {
+        var response = mockMvc.perform(delete("/medicos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        verify(medicoService, never()).desactivarMedicos(any());
+    }
+
+    @Test
+    @DisplayName("Debería devolver http 200 con las consultas canceladas al desactivar en cascada")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void desactivaMedico3() throws Exception {
+        // Arrange: el servicio cancela tres consultas futuras
+        Long medicoId = 1L;
+        when(medicoService.desactivarMedicoCancelandoConsultas(medicoId)).thenReturn(3);
+
+        // Act: Ejecutar la petición DELETE con la cascada activada
+        MockHttpServletResponse response = mockMvc.perform(delete("/medicos/{id}", medicoId)
+                        .param("cancelarConsultas", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(UTF_8))
+                .andReturn()
+                .getResponse();
+
+        // Assert: Verificar el estado HTTP y el contenido JSON de la respuesta
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JSONAssert.assertEquals("""
+            {
+                "code": "DELETED",
+                "consultasCanceladas": 3
+            }
+            """, response.getContentAsString(UTF_8), false);
+        verify(medicoService, never()).desactivarMedico(medicoId);
+    }
+
     @Test
     @DisplayName("Debería devolver http 404 cuando la request no tenga datos")
     @WithMockUser(username = "admin", roles = {"ADMIN"})
@@ -231,7 +482,8 @@ class MedicoControllerTest {
                 "juan.perez@mail.com",
                 "123456789",
                 "CARDIOLOGIA",
-                direccion
+                direccion,
+                0L
         );
 
         // Mock del servicio
@@ -251,4 +503,43 @@ class MedicoControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value()); // HTTP 200 OK
         assertThat(response.getContentAsString(UTF_8)).isEqualTo(jsonEsperado); // JSON correcto
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debería devolver http 304 sin cuerpo cuando el ETag coincide con la versión")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void retornaDatosMedico3() throws Exception {
+        // Arrange: el médico está en la versión 3
+        var direccion = new DatosDireccion("Calle 123", "Distrito Centro", "CiudadX", "456", "Apto 789");
+        when(medicoService.obtenerDatosMedicoPorId(1L)).thenReturn(new DatosRespuestaMedico(
+                1L, "Juan Pérez", "juan.perez@mail.com", "123456789", "CARDIOLOGIA", direccion, 3L));
+
+        // Act: el cliente envía el ETag de la versión 3
+        var response = mockMvc.perform(get("/medicos/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"3\"");
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería devolver el ETag de la versión actual cuando el del cliente está desactualizado")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void retornaDatosMedico4() throws Exception {
+        // Arrange: el médico está en la versión 4
+        var direccion = new DatosDireccion("Calle 123", "Distrito Centro", "CiudadX", "456", "Apto 789");
+        when(medicoService.obtenerDatosMedicoPorId(1L)).thenReturn(new DatosRespuestaMedico(
+                1L, "Juan Pérez", "juan.perez@mail.com", "123456789", "CARDIOLOGIA", direccion, 4L));
+
+        // Act: el cliente envía el ETag de la versión 3
+        var response = mockMvc.perform(get("/medicos/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"4\"");
+    }
+}
@@ -66,7 +66,7 @@ class PacienteControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void listadoPacientes() throws Exception {
         // Arrange: Simula un Page vacío
-        when(pacienteRepository.findByActivoTrue(any(Pageable.class)))
+        when(pacienteRepository.buscarListado(any(Pageable.class)))
                 .thenReturn(Page.empty());
 
         // Act: Realiza la petición GET
@@ -272,7 +272,8 @@ class PacienteControllerTest {
                 "juan.perez@mail.com",
                 "123456789",
                 "12345678",
-                direccion
+                direccion,
+                0L
         );
 
         // Mock del servicio para devolver la respuesta esperada
@@ -292,4 +293,46 @@ class PacienteControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value()); // HTTP 200 OK
         JSONAssert.assertEquals(jsonEsperado, response.getContentAsString(UTF_8), false); // Comparación del JSON
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debería devolver http 304 sin cuerpo cuando el ETag coincide con la versión")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void retornaDatosPaciente3() throws Exception {
+        // Arrange: el paciente está en la versión 3
+        var direccion = new DatosDireccion("Calle 123", "Distrito Centro", "CiudadX", "456", "Apto 789");
+        when(pacienteService.obtenerPacientePorId(1L)).thenReturn(new DatosRespuestaPaciente(
+                1L, "Juan Pérez", "juan.perez@mail.com", "123456789", "12345678", direccion, 3L));
+
+        // Act: el cliente envía el ETag de la versión 3
+        var response = mockMvc.perform(get("/pacientes/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"3\"");
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería devolver el ETag de la versión actual cuando el del cliente está desactualizado")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void retornaDatosPaciente4() throws Exception {
+        // Arrange: el paciente está en la versión 4
+        var direccion = new DatosDireccion("Calle 123", "Distrito Centro", "CiudadX", "456", "Apto 789");
+        var datosRespuestaPaciente = new DatosRespuestaPaciente(
+                1L, "Juan Pérez", "juan.perez@mail.com", "123456789", "12345678", direccion, 4L);
+        when(pacienteService.obtenerPacientePorId(1L)).thenReturn(datosRespuestaPaciente);
+
+        // Act: el cliente envía el ETag de la versión 3
+        var response = mockMvc.perform(get("/pacientes/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"4\"");
+        JSONAssert.assertEquals(datosRespuestaPacienteJson.write(datosRespuestaPaciente).getJson(),
+                response.getContentAsString(UTF_8), false);
+    }
+}
@@ -0,0 +1,262 @@
+package med.voll.api.domain;
+
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.MotivoCancelamiento;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
+import med.voll.api.domain.medico.DatosActualizaParcialMedico;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DatosActualizaParcialPaciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import med.voll.api.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN de cada consulta de los repositorios. Cada caso llama al método real y se explica el SQL
+ * que Hibernate y Spring Data enviaron al driver, con los mismos parámetros: si una consulta cambia,
+ * cambia lo que se verifica.
+ * Falla si alguna tabla se recorre completa sin un índice que el optimizador pueda elegir.
+ * Las tablas de prueba son pequeñas y MySQL puede preferir el recorrido aun teniendo índice;
+ * lo que se protege es que el índice exista para cuando haya volumen.
+ * Las exportaciones NDJSON y la carga de los filtros de Bloom quedan fuera: recorren la tabla completa por diseño.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PlanesDeConsultaTest.RegistroDeSentencias.class)
+class PlanesDeConsultaTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2030, 1, 7, 10, 0);
+    private static final LocalDateTime DESDE = LocalDateTime.of(2030, 1, 7, 7, 0);
+    private static final LocalDateTime HASTA = LocalDateTime.of(2030, 1, 7, 18, 0);
+    private static final PageRequest PAGINA = PageRequest.of(2, 10, Sort.by("nombre"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RegistroDeSentencias registroDeSentencias;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    static Stream<Arguments> consultas() {
+        return Stream.of(
+                // MedicoRepository
+                caso("MedicoRepository.existsByEmail", r -> r.medicos().existsByEmail("a@mail.com")),
+                caso("MedicoRepository.existsByDocumento", r -> r.medicos().existsByDocumento("123456")),
+                caso("MedicoRepository.buscarListado", r -> r.medicos().buscarListado(PAGINA)),
+                caso("MedicoRepository.buscarListadoSinTotal", r -> r.medicos().buscarListadoSinTotal(PAGINA)),
+                caso("MedicoRepository.buscarListadoDesdeElInicio", r -> r.medicos().buscarListadoDesdeElInicio(Limit.of(11))),
+                caso("MedicoRepository.buscarListadoDespuesDe", r -> r.medicos().buscarListadoDespuesDe("Juan", 5L, Limit.of(11))),
+                caso("MedicoRepository.buscarEstadoActivo", r -> r.medicos().buscarEstadoActivo(List.of(1L, 2L, 3L))),
+                caso("MedicoRepository.buscarIdsActivosPorEspecialidad",
+                        r -> r.medicos().buscarIdsActivosPorEspecialidad(Especialidad.CARDIOLOGIA)),
+                caso("MedicoRepository.buscarActivosPorEspecialidadOrdenadosPorId",
+                        r -> r.medicos().buscarActivosPorEspecialidadOrdenadosPorId(Especialidad.CARDIOLOGIA)),
+                caso("MedicoRepository.elegirIdMedicoAleatorioDisponibleEnLaFecha",
+                        r -> r.medicos().elegirIdMedicoAleatorioDisponibleEnLaFecha(Especialidad.CARDIOLOGIA.toValue(), FECHA, List.of(-1L))),
+                caso("MedicoRepository.buscarParaIndice", r -> r.medicos().buscarParaIndice()),
+                caso("MedicoRepository.buscarParaIndicePorId", r -> r.medicos().buscarParaIndicePorId(1L)),
+                caso("MedicoRepository.actualizarParcialmente", r -> r.medicos().actualizarParcialmente(1L,
+                        new DatosActualizaParcialMedico("Juan", null, new DatosActualizaParcialDireccion(null, null, "Cali", null, null)))),
+                caso("MedicoRepository.desactivar", r -> r.medicos().desactivar(1L)),
+                caso("MedicoRepository.desactivarTodos", r -> r.medicos().desactivarTodos(List.of(1L, 2L, 3L))),
+                caso("MedicoRepository.buscarEmailsRegistrados",
+                        r -> r.medicos().buscarEmailsRegistrados(List.of("a@mail.com", "b@mail.com"))),
+                caso("MedicoRepository.buscarDocumentosRegistrados",
+                        r -> r.medicos().buscarDocumentosRegistrados(List.of("123456", "654321"))),
+
+                // PacienteRepository
+                caso("PacienteRepository.existsByEmail", r -> r.pacientes().existsByEmail("a@mail.com")),
+                caso("PacienteRepository.existsByDocumentoIdentidad", r -> r.pacientes().existsByDocumentoIdentidad("123456")),
+                caso("PacienteRepository.buscarListado", r -> r.pacientes().buscarListado(PAGINA)),
+                caso("PacienteRepository.buscarListadoSinTotal", r -> r.pacientes().buscarListadoSinTotal(PAGINA)),
+                caso("PacienteRepository.buscarListadoDesdeElInicio", r -> r.pacientes().buscarListadoDesdeElInicio(Limit.of(11))),
+                caso("PacienteRepository.buscarListadoDespuesDe", r -> r.pacientes().buscarListadoDespuesDe("Ana", 5L, Limit.of(11))),
+                caso("PacienteRepository.buscarEstadoActivo", r -> r.pacientes().buscarEstadoActivo(List.of(1L, 2L, 3L))),
+                caso("PacienteRepository.actualizarParcialmente", r -> r.pacientes().actualizarParcialmente(1L,
+                        new DatosActualizaParcialPaciente("Ana", null, null))),
+                caso("PacienteRepository.desactivar", r -> r.pacientes().desactivar(1L)),
+                caso("PacienteRepository.desactivarTodos", r -> r.pacientes().desactivarTodos(List.of(1L, 2L, 3L))),
+                caso("PacienteRepository.buscarEmailsRegistrados",
+                        r -> r.pacientes().buscarEmailsRegistrados(List.of("a@mail.com", "b@mail.com"))),
+                caso("PacienteRepository.buscarDocumentosRegistrados",
+                        r -> r.pacientes().buscarDocumentosRegistrados(List.of("12345678", "87654321"))),
+
+                // ConsultaRepository
+                caso("ConsultaRepository.existsByPacienteIdAndFechaBetween",
+                        r -> r.consultas().existsByPacienteIdAndFechaBetween(1L, DESDE, HASTA)),
+                caso("ConsultaRepository.existsByMedicoIdAndFecha", r -> r.consultas().existsByMedicoIdAndFecha(1L, FECHA)),
+                caso("ConsultaRepository.buscarSlotsOcupadosDesde", r -> r.consultas().buscarSlotsOcupadosDesde(DESDE)),
+                caso("ConsultaRepository.buscarSlotsOcupadosPorEspecialidadEntre",
+                        r -> r.consultas().buscarSlotsOcupadosPorEspecialidadEntre(Especialidad.CARDIOLOGIA, DESDE, HASTA)),
+                caso("ConsultaRepository.buscarConsultasDePacientesEntre",
+                        r -> r.consultas().buscarConsultasDePacientesEntre(List.of(1L, 2L, 3L), DESDE, HASTA)),
+                caso("ConsultaRepository.cargarContextoReserva", r -> r.consultas().cargarContextoReserva(1L, 2L, DESDE, HASTA)),
+                caso("ConsultaRepository.cancelar", r -> r.consultas().cancelar(1L, MotivoCancelamiento.OTROS)),
+                caso("ConsultaRepository.cancelarEntre (médico)",
+                        r -> r.consultas().cancelarEntre(1L, null, DESDE, null, MotivoCancelamiento.MÉDICO_CANCELO)),
+                caso("ConsultaRepository.cancelarEntre (paciente)",
+                        r -> r.consultas().cancelarEntre(null, 2L, DESDE, HASTA, MotivoCancelamiento.PACIENTE_DESISTIO)),
+
+                // UsuarioRepository
+                caso("UsuarioRepository.findByLogin", r -> r.usuarios().findByLogin("admin"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    @DisplayName("Ninguna consulta de los repositorios debería recorrer una tabla completa sin índice utilizable")
+    void planSinRecorridoCompleto(String consulta, Invocacion invocacion) {
+        // Given o Arrange: el SQL y los parámetros que el repositorio envía al driver
+        var repositorios = new Repositorios(medicoRepository, pacienteRepository, consultaRepository, usuarioRepository);
+        List<SentenciaEnviada> sentencias = registroDeSentencias.grabar(() -> invocacion.invocar(repositorios));
+        assertThat(sentencias).as("SQL enviado por %s", consulta).isNotEmpty();
+
+        for (SentenciaEnviada sentencia : sentencias) {
+            // When o Act
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sentencia.sql(), sentencia.parametros().toArray());
+
+            // Then o Assert: ALL es la tabla completa; index sin claves posibles es el índice completo
+            assertThat(plan)
+                    .as("Plan de %s (%s): %s", consulta, sentencia.sql(), plan)
+                    .noneMatch(PlanesDeConsultaTest::recorridoCompletoSinIndice);
+        }
+    }
+
+    private static boolean recorridoCompletoSinIndice(final Map<String, Object> fila) {
+        Object tipo = fila.get("type");
+        return ("ALL".equals(tipo) || "index".equals(tipo)) && fila.get("possible_keys") == null;
+    }
+
+    private static Arguments caso(final String consulta, final Invocacion invocacion) {
+        return Arguments.of(consulta, invocacion);
+    }
+
+    @FunctionalInterface
+    interface Invocacion {
+        void invocar(Repositorios repositorios);
+    }
+
+    record Repositorios(MedicoRepository medicos, PacienteRepository pacientes,
+                        ConsultaRepository consultas, UsuarioRepository usuarios) {
+    }
+
+    record SentenciaEnviada(String sql, List<Object> parametros) {
+    }
+
+    /**
+     * Envuelve el DataSource y, mientras graba, anota cada PreparedStatement que se ejecuta
+     * con los valores que se le asignaron.
+     */
+    static class RegistroDeSentencias implements BeanPostProcessor {
+
+        private final List<SentenciaEnviada> grabadas = new CopyOnWriteArrayList<>();
+        private volatile boolean grabando;
+
+        List<SentenciaEnviada> grabar(final Runnable invocacion) {
+            grabadas.clear();
+            grabando = true;
+            try {
+                invocacion.run();
+            } finally {
+                grabando = false;
+            }
+            return List.copyOf(grabadas);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String nombre) {
+            // Solo el DataSource que usan JPA y JdbcTemplate; los inyectados por su tipo concreto quedan igual
+            if (!"dataSource".equals(nombre) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return conexionQueGraba(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(final String usuario, final String clave) throws SQLException {
+                    return conexionQueGraba(super.getConnection(usuario, clave));
+                }
+            };
+        }
+
+        private Connection conexionQueGraba(final Connection conexion) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, args) -> {
+                        Object resultado = invocar(conexion, metodo, args);
+                        if (grabando && resultado instanceof PreparedStatement sentencia
+                                && metodo.getName().startsWith("prepare") && args[0] instanceof String sql) {
+                            return sentenciaQueGraba(sentencia, sql);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private PreparedStatement sentenciaQueGraba(final PreparedStatement sentencia, final String sql) {
+            Map<Integer, Object> parametros = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, metodo, args) -> {
+                        String nombre = metodo.getName();
+                        if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                            parametros.put(indice, "setNull".equals(nombre) ? null : args[1]);
+                        } else if (nombre.startsWith("execute")) {
+                            grabadas.add(new SentenciaEnviada(sql, new ArrayList<>(parametros.values())));
+                        }
+                        return invocar(sentencia, metodo, args);
+                    });
+        }
+
+        private static Object invocar(final Object destino, final Method metodo, final Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package med.voll.api.domain.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheLocalTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"w-tinylfu", "lru"})
+    @DisplayName("Debería cargar una sola vez y volver a cargar después de invalidar")
+    void obtenerEscenario1(String politica) {
+        // Given o Arrange
+        CacheLocal<Long, String> cache = CacheLocal.crear(politica, 10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        // When o Act
+        cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+        String segunda = cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+        cache.invalidar(1L);
+        String tercera = cache.obtener(1L, id -> "v" + cargas.incrementAndGet());
+
+        // Then o Assert
+        assertThat(segunda).isEqualTo("v1");
+        assertThat(tercera).isEqualTo("v2");
+        assertThat(cache.aciertos()).isEqualTo(1);
+        assertThat(cache.fallos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debería desalojar la entrada usada hace más tiempo cuando la LRU se llena")
+    void obtenerEscenario2() {
+        // Given o Arrange
+        CacheLocal<Long, String> cache = CacheLocal.crear("lru", 2);
+        cache.obtener(1L, id -> "uno");
+        cache.obtener(2L, id -> "dos");
+        cache.obtener(1L, id -> "otro");
+
+        // When o Act: el 2 es el menos usado recientemente
+        cache.obtener(3L, id -> "tres");
+
+        // Then o Assert
+        assertThat(cache.desalojos()).isEqualTo(1);
+        assertThat(cache.obtener(1L, id -> "recargado")).isEqualTo("uno");
+        assertThat(cache.obtener(2L, id -> "recargado")).isEqualTo("recargado");
+    }
+}
@@ -0,0 +1,115 @@
+package med.voll.api.domain.consulta;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Sin transacción activa registrar marca el horario en el acto, como ocurre tras el commit
+class AgendaOcupacionTest {
+
+    private static final LocalDateTime MANANA_A_LAS_10 = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    private final ConsultaRepository consultaRepository = mock(ConsultaRepository.class);
+    private AgendaOcupacion agendaOcupacion;
+
+    @BeforeEach
+    void cargarAgenda() {
+        agendaOcupacion = new AgendaOcupacion(consultaRepository);
+        agendaOcupacion.cargar();
+    }
+
+    @Test
+    @DisplayName("Debería cargar los horarios ocupados desde hoy y responder sin ir a la base de datos")
+    void cargarEscenario1() {
+        //Give o Arrange
+        when(consultaRepository.buscarSlotsOcupadosDesde(LocalDate.now().atStartOfDay()))
+                .thenReturn(List.of(new SlotOcupado(1L, MANANA_A_LAS_10), new SlotOcupado(2L, MANANA_A_LAS_10.plusHours(1))));
+        var agenda = new AgendaOcupacion(consultaRepository);
+
+        // When o Act
+        agenda.cargar();
+
+        // Then o Assert
+        assertThat(agenda.estaCargada()).isTrue();
+        assertThat(agenda.estaOcupado(1L, MANANA_A_LAS_10)).isTrue();
+        assertThat(agenda.estaOcupado(2L, MANANA_A_LAS_10)).isFalse();
+        assertThat(agenda.consultasReservadas(1L)).isEqualTo(1);
+        verify(consultaRepository, never()).existsByMedicoIdAndFecha(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debería ocupar solo el minuto registrado y contar una vez el mismo horario")
+    void registrarEscenario1() {
+        //Give o Arrange
+        agendaOcupacion.registrar(1L, MANANA_A_LAS_10);
+
+        // When o Act
+        agendaOcupacion.registrar(1L, MANANA_A_LAS_10);
+
+        // Then o Assert
+        assertThat(agendaOcupacion.estaOcupado(1L, MANANA_A_LAS_10)).isTrue();
+        assertThat(agendaOcupacion.estaOcupado(1L, MANANA_A_LAS_10.plusMinutes(1))).isFalse();
+        assertThat(agendaOcupacion.estaOcupado(1L, MANANA_A_LAS_10.minusMinutes(1))).isFalse();
+        assertThat(agendaOcupacion.estaOcupado(2L, MANANA_A_LAS_10)).isFalse();
+        assertThat(agendaOcupacion.consultasReservadas(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debería separar el último minuto del día del primero del día siguiente")
+    void registrarEscenario2() {
+        //Give o Arrange
+        var ultimoMinuto = LocalDate.now().plusDays(1).atTime(23, 59);
+        var primerMinutoDelDiaSiguiente = ultimoMinuto.plusMinutes(1);
+
+        // When o Act
+        agendaOcupacion.registrar(1L, ultimoMinuto);
+
+        // Then o Assert
+        assertThat(agendaOcupacion.estaOcupado(1L, ultimoMinuto)).isTrue();
+        assertThat(agendaOcupacion.estaOcupado(1L, primerMinutoDelDiaSiguiente)).isFalse();
+        assertThat(agendaOcupacion.estaOcupado(1L, ultimoMinuto.minusDays(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debería consultar la base de datos para las fechas anteriores al primer día indexado")
+    void estaOcupadoEscenario1() {
+        //Give o Arrange
+        var ayer = LocalDate.now().minusDays(1).atTime(10, 0);
+        when(consultaRepository.existsByMedicoIdAndFecha(1L, ayer)).thenReturn(true);
+
+        // When o Act
+        boolean ocupado = agendaOcupacion.estaOcupado(1L, ayer);
+
+        // Then o Assert
+        assertThat(ocupado).isTrue();
+        verify(consultaRepository).existsByMedicoIdAndFecha(1L, ayer);
+    }
+
+    @Test
+    @DisplayName("Debería descartar los días pasados y descontarlos de las consultas reservadas")
+    void purgarDiasPasadosEscenario1() {
+        //Give o Arrange
+        var ayer = LocalDate.now().minusDays(1).atTime(10, 0);
+        agendaOcupacion.registrar(1L, ayer);
+        agendaOcupacion.registrar(1L, ayer.plusMinutes(30));
+        agendaOcupacion.registrar(1L, MANANA_A_LAS_10);
+
+        // When o Act
+        agendaOcupacion.purgarDiasPasados();
+
+        // Then o Assert: lo que queda es lo de mañana
+        assertThat(agendaOcupacion.consultasReservadas(1L)).isEqualTo(1);
+        assertThat(agendaOcupacion.estaOcupado(1L, MANANA_A_LAS_10)).isTrue();
+    }
+}
@@ -0,0 +1,54 @@
+package med.voll.api.domain.consulta;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloqueoDeHorariosTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final BloqueoDeHorarios bloqueoDeHorarios = new BloqueoDeHorarios();
+
+    @AfterEach
+    void terminarTransaccion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería no esperar por una franja tomada por otra transacción y tomarla cuando esta termina")
+    void intentarBloquearEscenario1() throws Exception {
+        // Given o Arrange: otra transacción tiene la franja del horario
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(bloqueoDeHorarios.intentarBloquearHastaFinDeTransaccion(1L, FECHA)).isTrue();
+
+        // When o Act
+        boolean desdeOtroHilo = CompletableFuture.supplyAsync(this::intentarEnTransaccionPropia).get();
+        terminarTransaccion();
+        boolean alTerminar = CompletableFuture.supplyAsync(this::intentarEnTransaccionPropia).get();
+
+        // Then o Assert
+        assertThat(desdeOtroHilo).isFalse();
+        assertThat(alTerminar).isTrue();
+    }
+
+    private boolean intentarEnTransaccionPropia() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return bloqueoDeHorarios.intentarBloquearHastaFinDeTransaccion(1L, FECHA);
+        } finally {
+            terminarTransaccion();
+        }
+    }
+}
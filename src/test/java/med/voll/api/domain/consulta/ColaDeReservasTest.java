@@ -0,0 +1,153 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.Paciente;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Las solicitudes se encolan antes de arrancar el trabajador, así entran todas en el mismo grupo
+class ColaDeReservasTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final ReservaDeConsultas reservaDeConsultas = mock(ReservaDeConsultas.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private ColaDeReservas colaDeReservas;
+
+    @BeforeEach
+    void crearCola() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        colaDeReservas = new ColaDeReservas(reservaDeConsultas, transactionManager, 50, 100);
+    }
+
+    @AfterEach
+    void detenerCola() {
+        colaDeReservas.detener();
+    }
+
+    @Test
+    @DisplayName("Debería rechazar solo la solicitud inválida y confirmar el resto del grupo en una transacción")
+    void procesarGrupoEscenario1() throws Exception {
+        //Give o Arrange
+        var invalida = reserva(1L, 10L);
+        var valida = reserva(1L, 11L);
+        when(reservaDeConsultas.reservar(eq(invalida), anySet())).thenThrow(CodigoError.PATIENT_NOT_ACTIVE.rechazo());
+        when(reservaDeConsultas.reservar(eq(valida), anySet())).thenReturn(consulta(100L, 1L));
+        UUID ticketInvalida = colaDeReservas.encolar(invalida).ticket();
+        UUID ticketValida = colaDeReservas.encolar(valida).ticket();
+
+        // When o Act
+        colaDeReservas.iniciar();
+        DatosTicketReserva rechazada = esperarResultado(ticketInvalida);
+        DatosTicketReserva reservada = esperarResultado(ticketValida);
+
+        // Then o Assert
+        assertThat(rechazada.estado()).isEqualTo(EstadoTicket.RECHAZADA);
+        assertThat(rechazada.code()).isEqualTo("PATIENT_NOT_ACTIVE");
+        assertThat(reservada.estado()).isEqualTo(EstadoTicket.RESERVADA);
+        assertThat(reservada.idConsulta()).isEqualTo(100L);
+        verify(transactionManager, times(1)).commit(any());
+        verify(reservaDeConsultas, never()).reservar(any());
+    }
+
+    @Test
+    @DisplayName("Debería descartar los médicos que el grupo ya ocupó en la fecha y rechazar el mismo médico dos veces")
+    void procesarGrupoEscenario2() throws Exception {
+        //Give o Arrange: dos reservas sin médico y una para el médico que el grupo ya ocupó
+        var primera = reserva(null, 10L);
+        var segunda = reserva(null, 11L);
+        var mismoMedico = reserva(1L, 12L);
+        when(reservaDeConsultas.reservar(primera, Set.of())).thenReturn(consulta(100L, 1L));
+        when(reservaDeConsultas.reservar(segunda, Set.of(1L))).thenReturn(consulta(101L, 2L));
+        UUID ticketPrimera = colaDeReservas.encolar(primera).ticket();
+        UUID ticketSegunda = colaDeReservas.encolar(segunda).ticket();
+        UUID ticketMismoMedico = colaDeReservas.encolar(mismoMedico).ticket();
+
+        // When o Act
+        colaDeReservas.iniciar();
+        DatosTicketReserva reservadaPrimera = esperarResultado(ticketPrimera);
+        DatosTicketReserva reservadaSegunda = esperarResultado(ticketSegunda);
+        DatosTicketReserva conflicto = esperarResultado(ticketMismoMedico);
+
+        // Then o Assert
+        assertThat(reservadaPrimera.idMedico()).isEqualTo(1L);
+        assertThat(reservadaSegunda.idMedico()).isEqualTo(2L);
+        assertThat(conflicto.estado()).isEqualTo(EstadoTicket.RECHAZADA);
+        assertThat(conflicto.code()).isEqualTo("MEDICAL_SCHEDULE_CONFLICT");
+        verify(reservaDeConsultas, never()).reservar(eq(mismoMedico), anySet());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debería reintentar cada solicitud en su propia transacción cuando la base rechaza el grupo")
+    void procesarGrupoEscenario3() throws Exception {
+        //Give o Arrange: médicos distintos, así ninguna se rechaza dentro del grupo y el INSERT de la segunda falla en la base
+        var aceptada = reserva(1L, 10L);
+        var duplicada = reserva(2L, 11L);
+        var violacion = new DataIntegrityViolationException("insert",
+                new SQLIntegrityConstraintViolationException("Duplicate entry for key 'uk_consultas_medico_fecha'"));
+        when(reservaDeConsultas.reservar(eq(aceptada), anySet())).thenReturn(consulta(100L, 1L));
+        when(reservaDeConsultas.reservar(eq(duplicada), anySet())).thenThrow(violacion);
+        when(reservaDeConsultas.reservar(aceptada)).thenReturn(consulta(101L, 1L));
+        when(reservaDeConsultas.reservar(duplicada)).thenThrow(violacion);
+        UUID ticketAceptada = colaDeReservas.encolar(aceptada).ticket();
+        UUID ticketDuplicada = colaDeReservas.encolar(duplicada).ticket();
+
+        // When o Act
+        colaDeReservas.iniciar();
+        DatosTicketReserva reservada = esperarResultado(ticketAceptada);
+        DatosTicketReserva rechazada = esperarResultado(ticketDuplicada);
+
+        // Then o Assert: el grupo se deshizo y solo se publica lo confirmado por separado
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(reservaDeConsultas).reservar(aceptada);
+        verify(reservaDeConsultas).reservar(duplicada);
+        assertThat(reservada.estado()).isEqualTo(EstadoTicket.RESERVADA);
+        assertThat(reservada.idConsulta()).isEqualTo(101L);
+        assertThat(rechazada.estado()).isEqualTo(EstadoTicket.RECHAZADA);
+        assertThat(rechazada.code()).isEqualTo("MEDICAL_SCHEDULE_CONFLICT");
+    }
+
+    private DatosTicketReserva esperarResultado(final UUID ticket) throws InterruptedException {
+        Instant limite = Instant.now().plus(Duration.ofSeconds(5));
+        DatosTicketReserva datos = colaDeReservas.consultar(ticket);
+        while (datos.estado() == EstadoTicket.PENDIENTE && Instant.now().isBefore(limite)) {
+            Thread.sleep(10);
+            datos = colaDeReservas.consultar(ticket);
+        }
+        return datos;
+    }
+
+    private static DatosReservaConsulta reserva(final Long idMedico, final Long idPaciente) {
+        return new DatosReservaConsulta(idMedico, idPaciente, FECHA, Especialidad.CARDIOLOGIA);
+    }
+
+    private static Consulta consulta(final Long id, final Long idMedico) {
+        return new Consulta(id, new Medico(idMedico), new Paciente(1L), FECHA, null);
+    }
+}
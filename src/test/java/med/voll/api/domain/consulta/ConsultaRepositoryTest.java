@@ -0,0 +1,138 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.direccion.DatosDireccion;
+import med.voll.api.domain.medico.DatosRegistroMedico;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DatosRegistroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ConsultaRepositoryTest {
+
+    // Próximo lunes a las 10:00; el contexto se busca entre las 07:00 y las 18:00 de ese día
+    private static final LocalDateTime LUNES_A_LAS_10 = LocalDate.now()
+            .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+            .atTime(10, 0);
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Debería devolver en una sola fila el médico y el paciente activos y la consulta del paciente en el día")
+    void cargarContextoReservaEscenario1() {
+        //Give o Arrange
+        final Medico medico = registrarMedico("Medico1", "medico1@gmail.com", "123456100");
+        final Paciente paciente = registrarPaciente("Paciente1", "paciente1@gmail.com", "987654321");
+        registrarConsulta(medico, paciente, LUNES_A_LAS_10.withHour(16));
+        entityManager.flush();
+
+        // When o Act
+        FilaContextoReserva fila = cargarContexto(medico.getId(), paciente.getId());
+
+        // Then o Assert
+        assertThat(fila.getMedicoActivo()).isEqualTo(1L);
+        assertThat(fila.getPacienteActivo()).isEqualTo(1L);
+        assertThat(fila.getPacienteConConsultaEnElDia()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Debería devolver 0 para el médico inactivo y null para el paciente que no existe")
+    void cargarContextoReservaEscenario2() {
+        //Give o Arrange
+        final Medico medico = registrarMedico("Medico1", "medico1@gmail.com", "123456100");
+        entityManager.flush();
+        medicoRepository.desactivar(medico.getId());
+
+        // When o Act
+        FilaContextoReserva fila = cargarContexto(medico.getId(), -1L);
+
+        // Then o Assert
+        assertThat(fila.getMedicoActivo()).isZero();
+        assertThat(fila.getPacienteActivo()).isNull();
+        assertThat(fila.getPacienteConConsultaEnElDia()).isZero();
+    }
+
+    @Test
+    @DisplayName("No debería contar las consultas del paciente fuera del día de la reserva")
+    void cargarContextoReservaEscenario3() {
+        //Give o Arrange
+        final Medico medico = registrarMedico("Medico1", "medico1@gmail.com", "123456100");
+        final Paciente paciente = registrarPaciente("Paciente1", "paciente1@gmail.com", "987654321");
+        registrarConsulta(medico, paciente, LUNES_A_LAS_10.plusDays(1));
+        entityManager.flush();
+
+        // When o Act
+        FilaContextoReserva fila = cargarContexto(medico.getId(), paciente.getId());
+
+        // Then o Assert
+        assertThat(fila.getPacienteConConsultaEnElDia()).isZero();
+    }
+
+    private FilaContextoReserva cargarContexto(final Long idMedico, final Long idPaciente) {
+        return consultaRepository.cargarContextoReserva(idMedico, idPaciente,
+                LUNES_A_LAS_10.withHour(7), LUNES_A_LAS_10.withHour(18));
+    }
+
+    private void registrarConsulta(final Medico medico, final Paciente paciente, final LocalDateTime fecha) {
+        entityManager.persist(new Consulta(null, medico, paciente, fecha, null));
+    }
+
+    private Medico registrarMedico(final String nombre, final String email, final String documento) {
+        final Medico medico = new Medico(new DatosRegistroMedico(
+                nombre,
+                "3116257383",
+                email,
+                documento,
+                Especialidad.CARDIOLOGIA,
+                datosDireccion()
+        ));
+        entityManager.persist(medico);
+        return medico;
+    }
+
+    private Paciente registrarPaciente(final String nombre, final String email, final String documentoIdentidad) {
+        final Paciente paciente = new Paciente(new DatosRegistroPaciente(
+                nombre,
+                email,
+                documentoIdentidad,
+                "1234567891",
+                datosDireccion()
+        ));
+        entityManager.persist(paciente);
+        return paciente;
+    }
+
+    private DatosDireccion datosDireccion() {
+        return new DatosDireccion(
+                "Calle x",
+                "Distrito y",
+                "Ciudad z",
+                "123",
+                "1"
+        );
+    }
+}
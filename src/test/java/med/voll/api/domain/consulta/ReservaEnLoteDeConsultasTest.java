@@ -0,0 +1,86 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.CodigoError;
+import med.voll.api.domain.EstadoActivo;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// La reserva en lote corre dentro de una transacción: aquí basta con la sincronización activa para los bloqueos
+class ReservaEnLoteDeConsultasTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final ConsultaRepository consultaRepository = mock(ConsultaRepository.class);
+    private final MedicoRepository medicoRepository = mock(MedicoRepository.class);
+    private final PacienteRepository pacienteRepository = mock(PacienteRepository.class);
+    private final AgendaOcupacion agendaOcupacion = mock(AgendaOcupacion.class);
+    private final ReservaDeConsultas reservaDeConsultas = mock(ReservaDeConsultas.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final ReservaEnLoteDeConsultas reservaEnLoteDeConsultas = new ReservaEnLoteDeConsultas(consultaRepository,
+            medicoRepository, pacienteRepository, agendaOcupacion, reservaDeConsultas, new BloqueoDeHorarios(), entityManager);
+
+    @BeforeEach
+    void iniciarTransaccion() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void terminarTransaccion() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("No debería contar para el resto del lote una consulta que se descartó al bloquear su horario")
+    void reservarEscenario1() {
+        //Give o Arrange: el único cardiólogo se ocupa entre la elección y el bloqueo; el paciente pide otra especialidad ese día
+        var descartada = new DatosReservaConsulta(null, 10L, FECHA, Especialidad.CARDIOLOGIA);
+        var mismoPacienteMismoDia = new DatosReservaConsulta(null, 10L, FECHA.plusHours(2), Especialidad.PEDIATRIA);
+        when(pacienteRepository.buscarEstadoActivo(anyCollection())).thenReturn(List.of(new EstadoActivo(10L, true)));
+        when(consultaRepository.buscarConsultasDePacientesEntre(anyCollection(), any(), any())).thenReturn(List.of());
+        when(medicoRepository.buscarIdsActivosPorEspecialidad(Especialidad.CARDIOLOGIA)).thenReturn(List.of(1L));
+        when(medicoRepository.buscarIdsActivosPorEspecialidad(Especialidad.PEDIATRIA)).thenReturn(List.of(2L));
+        when(agendaOcupacion.estaOcupado(1L, FECHA)).thenReturn(false, true);
+        // Misma regla que ValidadorPacienteSinOtraConsultaEnElMismoDia
+        doAnswer(invocacion -> {
+            ContextoReserva contexto = invocacion.getArgument(1);
+            if (contexto.pacienteConConsultaEnElDia()) {
+                throw CodigoError.DUPLICATE_APPOINTMENT.rechazo();
+            }
+            return null;
+        }).when(reservaDeConsultas).verificar(any(), any());
+
+        // When o Act
+        var resultado = reservaEnLoteDeConsultas.reservar(new DatosReservaLote(List.of(descartada, mismoPacienteMismoDia)));
+
+        // Then o Assert
+        assertThat(resultado.reservadas()).isEqualTo(1);
+        assertThat(resultado.resultados()).extracting(DatosResultadoItemLote::code)
+                .containsExactly("ERR_NO_RANDOM_MEDICAL_AVAILABLE", "CREATED");
+        assertThat(resultado.resultados().get(1).idMedico()).isEqualTo(2L);
+        verify(entityManager, times(1)).persist(any(Consulta.class));
+        verify(agendaOcupacion).registrar(2L, FECHA.plusHours(2));
+    }
+}
@@ -0,0 +1,61 @@
+package med.voll.api.domain.consulta.seleccion;
+
+import med.voll.api.domain.consulta.AgendaOcupacion;
+import med.voll.api.domain.medico.Especialidad;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeleccionAleatoriaTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final AgendaOcupacion agendaOcupacion = mock(AgendaOcupacion.class);
+    private final MedicoRepository medicoRepository = mock(MedicoRepository.class);
+    private final SeleccionAleatoria seleccionAleatoria = new SeleccionAleatoria(agendaOcupacion, medicoRepository);
+
+    @Test
+    @DisplayName("Debería sortear solo entre los médicos libres según la agenda, sin consultar las consultas en la base")
+    void elegirEscenario1() {
+        //Give o Arrange: el 1 está descartado y el 2 ocupado; solo queda el 3
+        when(agendaOcupacion.estaCargada()).thenReturn(true);
+        when(agendaOcupacion.estaOcupado(2L, FECHA)).thenReturn(true);
+        when(medicoRepository.buscarIdsActivosPorEspecialidad(Especialidad.CARDIOLOGIA)).thenReturn(List.of(1L, 2L, 3L));
+
+        // When o Act y Then o Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(seleccionAleatoria.elegir(Especialidad.CARDIOLOGIA, FECHA, Set.of(1L))).contains(3L);
+        }
+        when(agendaOcupacion.estaOcupado(3L, FECHA)).thenReturn(true);
+        assertThat(seleccionAleatoria.elegir(Especialidad.CARDIOLOGIA, FECHA, Set.of(1L))).isEmpty();
+        verify(medicoRepository, never()).elegirIdMedicoAleatorioDisponibleEnLaFecha(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debería sortear en la base mientras la agenda no está cargada")
+    void elegirEscenario2() {
+        //Give o Arrange
+        when(agendaOcupacion.estaCargada()).thenReturn(false);
+        when(medicoRepository.elegirIdMedicoAleatorioDisponibleEnLaFecha("Cardiologia", FECHA, List.of(-1L)))
+                .thenReturn(Optional.of(5L));
+
+        // When o Act
+        Optional<Long> elegido = seleccionAleatoria.elegir(Especialidad.CARDIOLOGIA, FECHA, Set.of());
+
+        // Then o Assert
+        assertThat(elegido).contains(5L);
+    }
+}
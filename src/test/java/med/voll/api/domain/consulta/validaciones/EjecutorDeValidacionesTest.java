@@ -0,0 +1,71 @@
+package med.voll.api.domain.consulta.validaciones;
+
+import med.voll.api.domain.consulta.ContextoReserva;
+import med.voll.api.domain.consulta.DatosReservaConsulta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EjecutorDeValidacionesTest {
+
+    @Test
+    @DisplayName("Debería ejecutar los validadores por nombre sin importar el orden de inyección y detenerse en el primer rechazo")
+    void validarEscenario1() {
+        //Give o Arrange
+        List<String> ejecutados = new ArrayList<>();
+        var ejecutor = new EjecutorDeValidaciones(List.of(
+                new ValidadorC(ejecutados),
+                new ValidadorB(ejecutados),
+                new ValidadorA(ejecutados)
+        ));
+
+        // When o Act y Then o Assert
+        assertThatThrownBy(() -> ejecutor.validar(null, null)).hasMessage("B_FAILED");
+        assertThat(ejecutados).containsExactly("a", "b");
+    }
+
+    // Los nombres de clase fijan el orden: A, B y luego C
+    private static class ValidadorA extends ValidadorDePrueba {
+        ValidadorA(List<String> ejecutados) {
+            super("a", null, ejecutados);
+        }
+    }
+
+    private static class ValidadorB extends ValidadorDePrueba {
+        ValidadorB(List<String> ejecutados) {
+            super("b", "B_FAILED", ejecutados);
+        }
+    }
+
+    private static class ValidadorC extends ValidadorDePrueba {
+        ValidadorC(List<String> ejecutados) {
+            super("c", "C_FAILED", ejecutados);
+        }
+    }
+
+    private static class ValidadorDePrueba implements ValidadorDeConsultas {
+
+        private final String nombre;
+        private final String error;
+        private final List<String> ejecutados;
+
+        ValidadorDePrueba(String nombre, String error, List<String> ejecutados) {
+            this.nombre = nombre;
+            this.error = error;
+            this.ejecutados = ejecutados;
+        }
+
+        @Override
+        public void validar(DatosReservaConsulta datosReservaConsulta, ContextoReserva contextoReserva) {
+            ejecutados.add(nombre);
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package med.voll.api.domain.filtro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroDeBloomTest {
+
+    @Test
+    @DisplayName("Debería reconocer todas las claves agregadas y rechazar casi todas las demás")
+    void podriaContenerEscenario1() {
+        // Given o Arrange
+        var filtro = new FiltroDeBloom(100_000, 0.01);
+        IntStream.range(0, 100_000).forEach(i -> filtro.agregar("medico" + i + "@voll.med"));
+
+        // When o Act
+        long ausentesReconocidas = IntStream.range(0, 100_000)
+                .filter(i -> !filtro.podriaContener("medico" + i + "@voll.med"))
+                .count();
+        long falsosPositivos = IntStream.range(100_000, 200_000)
+                .filter(i -> filtro.podriaContener("medico" + i + "@voll.med"))
+                .count();
+
+        // Then o Assert: ningún falso negativo y la tasa de falsos positivos cerca de la pedida
+        assertThat(ausentesReconocidas).isZero();
+        assertThat(falsosPositivos).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Debería responder quizás hasta cargar y luego comparar sin mayúsculas ni tildes, como MySQL")
+    void podriaExistirEscenario1() {
+        // Given o Arrange
+        var claves = new ClavesRegistradas(1_000, 0.01) {
+            @Override
+            protected List<ClavesUnicas> buscarRegistradas() {
+                return List.of(new ClavesUnicas("José.Pérez@voll.med", "1.234.567"));
+            }
+        };
+
+        // When o Act y Then o Assert
+        assertThat(claves.podriaExistirEmail("otro@voll.med")).isTrue();
+        claves.cargar();
+        assertThat(claves.podriaExistirEmail(" jose.perez@VOLL.med")).isTrue();
+        assertThat(claves.podriaExistirDocumento("1.234.567")).isTrue();
+        assertThat(claves.podriaExistirEmail("otro@voll.med")).isFalse();
+
+        claves.agregar("otro@voll.med", null);
+        assertThat(claves.podriaExistirEmail("otro@voll.med")).isTrue();
+    }
+}
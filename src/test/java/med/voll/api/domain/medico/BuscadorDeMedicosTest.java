@@ -0,0 +1,53 @@
+package med.voll.api.domain.medico;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuscadorDeMedicosTest {
+
+    private BuscadorDeMedicos buscadorDeMedicos;
+
+    @BeforeEach
+    void cargarIndice() {
+        MedicoRepository medicoRepository = mock(MedicoRepository.class);
+        when(medicoRepository.buscarParaIndice()).thenReturn(List.of(
+                new MedicoIndexado(1L, "José Pérez", Especialidad.CARDIOLOGIA, "100", "jose@mail.com", "Bogotá"),
+                new MedicoIndexado(2L, "Josefina Ruiz", Especialidad.PEDIATRIA, "200", "josefina@mail.com", "Medellín"),
+                new MedicoIndexado(3L, "Ana Jos", Especialidad.CARDIOLOGIA, "300", "ana@mail.com", "Bogotá")
+        ));
+        buscadorDeMedicos = new BuscadorDeMedicos(medicoRepository);
+        buscadorDeMedicos.cargar();
+    }
+
+    @Test
+    @DisplayName("Debería encontrar por prefijo sin importar tildes ni mayúsculas, con las coincidencias en el nombre primero")
+    void buscarEscenario1() {
+        // When o Act
+        var pagina = buscadorDeMedicos.buscar("JOS", null, null, PageRequest.of(0, 10));
+
+        // Then o Assert: "Ana Jos" coincide exacto; los otros dos por prefijo, en orden alfabético
+        assertThat(pagina.getContent()).extracting(DatosListadoMedico::id).containsExactly(3L, 1L, 2L);
+        assertThat(pagina.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Debería exigir todos los términos y aplicar los filtros de especialidad y ciudad")
+    void buscarEscenario2() {
+        // When o Act
+        var porTerminos = buscadorDeMedicos.buscar("jose perez", null, null, PageRequest.of(0, 10));
+        var porFiltros = buscadorDeMedicos.buscar(null, Especialidad.CARDIOLOGIA, "bogota", PageRequest.of(0, 1));
+
+        // Then o Assert
+        assertThat(porTerminos.getContent()).extracting(DatosListadoMedico::id).containsExactly(1L);
+        assertThat(porFiltros.getContent()).hasSize(1);
+        assertThat(porFiltros.getTotalElements()).isEqualTo(2);
+    }
+}
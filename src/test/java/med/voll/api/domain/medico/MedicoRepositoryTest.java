@@ -1,8 +1,10 @@
 package med.voll.api.domain.medico;
 
 import jakarta.persistence.EntityManager;
+import med.voll.api.domain.EstadoActivo;
 import med.voll.api.domain.consulta.Consulta;
 import med.voll.api.domain.consulta.MotivoCancelamiento;
+import med.voll.api.domain.direccion.DatosActualizaParcialDireccion;
 import med.voll.api.domain.direccion.DatosDireccion;
 import med.voll.api.domain.paciente.DatosRegistroPaciente;
 import med.voll.api.domain.paciente.Paciente;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.DayOfWeek;
@@ -18,6 +21,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,53 +38,118 @@ class MedicoRepositoryTest {
     private EntityManager entityManager;
 
     @Test
-    @DisplayName("Debería devolver una lista vacía cuando no hay médicos disponibles en la fecha indicada")
-    void elegirMedicoAleatorioDisponibleEnLaFechaEscenario1() {
+    @DisplayName("Debería devolver solo el id de un médico libre, sin considerar los descartados ni los ocupados")
+    void elegirIdMedicoAleatorioDisponibleEnLaFechaEscenario1() {
         //Give o Arrange
-        // Fecha del próximo lunes a las 10:00 am
         final LocalDateTime lunesSiguienteALas10 = LocalDate.now()
                 .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
                 .atTime(10, 0);
 
-        // When o Act
-        // Registrar un médico ocupado en esa fecha
-        final Medico medico1 = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.fromValue(Especialidad.CARDIOLOGIA.toValue()));
+        final Medico ocupado = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.CARDIOLOGIA);
+        final Medico descartado = registrarMedico("Medico2", "medico2@gmail.com", "123456101", Especialidad.CARDIOLOGIA);
+        final Medico libre = registrarMedico("Medico3", "medico3@gmail.com", "123456102", Especialidad.CARDIOLOGIA);
         final Paciente paciente1 = registrarPaciente("Paciente1", "paciente1@gmail.com", "987654321");
-        registrarConsulta(medico1, paciente1, lunesSiguienteALas10, MotivoCancelamiento.fromValue(MotivoCancelamiento.MÉDICO_CANCELO.toValue()));
+        registrarConsulta(ocupado, paciente1, lunesSiguienteALas10, MotivoCancelamiento.OTROS);
+        entityManager.flush();
 
-        // Intentar obtener un médico disponible para la especialidad y fecha
-        List<Medico> medicosDisponibles = medicoRepository.elegirMedicoAleatorioDisponibleEnLaFecha(
-                Especialidad.fromValue(Especialidad.CARDIOLOGIA.toValue()),
-                lunesSiguienteALas10
+        // When o Act
+        Optional<Long> idMedico = medicoRepository.elegirIdMedicoAleatorioDisponibleEnLaFecha(
+                Especialidad.CARDIOLOGIA.toValue(),
+                lunesSiguienteALas10,
+                Set.of(descartado.getId())
         );
 
         // Then o Assert
-        // Verifica que la lista esté vacía
-        assertThat(medicosDisponibles).isEmpty();
+        assertThat(idMedico).contains(libre.getId());
     }
 
     @Test
-    @DisplayName("Debería devolver un médico cuando el médico buscado esta disponible en la fecha indicada")
-    void elegirMedicoAleatorioDisponibleEnLaFechaEscenario2() {
+    @DisplayName("Debería devolver vacío cuando todos los médicos libres fueron descartados")
+    void elegirIdMedicoAleatorioDisponibleEnLaFechaEscenario2() {
         //Give o Arrange
-        // Fecha del próximo lunes a las 10:00 am
         final LocalDateTime lunesSiguienteALas10 = LocalDate.now()
                 .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
                 .atTime(10, 0);
 
-        // Registrar un médico ocupado en esa fecha
-        final Medico medico1 = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.fromValue(Especialidad.CARDIOLOGIA.toValue()));
+        final Medico medico1 = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.CARDIOLOGIA);
+        entityManager.flush();
 
         // When o Act
-        // Intentar obtener un médico disponible para la especialidad y fecha
-        List<Medico> medicosDisponibles = medicoRepository.elegirMedicoAleatorioDisponibleEnLaFecha(
-                Especialidad.fromValue(Especialidad.CARDIOLOGIA.toValue()),
-                lunesSiguienteALas10
+        Optional<Long> idMedico = medicoRepository.elegirIdMedicoAleatorioDisponibleEnLaFecha(
+                Especialidad.CARDIOLOGIA.toValue(),
+                lunesSiguienteALas10,
+                Set.of(medico1.getId())
         );
 
         // Then o Assert
-        // Verifica que la lista esté vacía
-        assertThat(medicosDisponibles).containsExactly(medico1);
+        assertThat(idMedico).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería recorrer los médicos activos por (nombre, id) sin repetir ni saltar filas")
+    void buscarListadoDespuesDeEscenario1() {
+        //Give o Arrange
+        final Medico ana = registrarMedico("Ana", "ana@gmail.com", "123456200", Especialidad.CARDIOLOGIA);
+        final Medico bruno = registrarMedico("Bruno", "bruno@gmail.com", "123456201", Especialidad.PEDIATRIA);
+        final Medico bruno2 = registrarMedico("Bruno", "bruno2@gmail.com", "123456202", Especialidad.ORTOPEDIA);
+        entityManager.flush();
+
+        // When o Act
+        List<DatosListadoMedico> primeraPagina = medicoRepository.buscarListadoDesdeElInicio(Limit.of(2));
+        DatosListadoMedico ultimo = primeraPagina.get(primeraPagina.size() - 1);
+        List<DatosListadoMedico> segundaPagina = medicoRepository.buscarListadoDespuesDe(ultimo.nombre(), ultimo.id(), Limit.of(2));
+
+        // Then o Assert
+        assertThat(primeraPagina).extracting(DatosListadoMedico::id).containsExactly(ana.getId(), bruno.getId());
+        assertThat(segundaPagina).containsExactly(new DatosListadoMedico(bruno2));
+    }
+
+    @Test
+    @DisplayName("Debería cambiar solo los campos informados en un UPDATE e incrementar la versión")
+    void actualizarParcialmenteEscenario1() {
+        //Give o Arrange
+        final Medico medico = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.CARDIOLOGIA);
+        entityManager.flush();
+        final Long versionInicial = medico.getVersion();
+        entityManager.clear();
+
+        // When o Act
+        int filas = medicoRepository.actualizarParcialmente(medico.getId(), new DatosActualizaParcialMedico(
+                "Medico Actualizado", null, new DatosActualizaParcialDireccion(null, null, "Ciudad nueva", null, null)));
+        int filasIdInexistente = medicoRepository.actualizarParcialmente(-1L, new DatosActualizaParcialMedico("Otro", null, null));
+
+        // Then o Assert
+        Medico actualizado = medicoRepository.findById(medico.getId()).orElseThrow();
+        assertThat(filas).isEqualTo(1);
+        assertThat(filasIdInexistente).isZero();
+        assertThat(actualizado.getNombre()).isEqualTo("Medico Actualizado");
+        assertThat(actualizado.getDireccion().getCiudad()).isEqualTo("Ciudad nueva");
+        assertThat(actualizado.getDireccion().getCalle()).isEqualTo("Calle x");
+        assertThat(actualizado.getDocumento()).isEqualTo("123456100");
+        assertThat(actualizado.getVersion()).isEqualTo(versionInicial + 1);
+    }
+
+    @Test
+    @DisplayName("Debería desactivar con un UPDATE condicional que no afecta filas si el médico ya estaba de baja")
+    void desactivarEscenario1() {
+        //Give o Arrange
+        final Medico medico1 = registrarMedico("Medico1", "medico1@gmail.com", "123456100", Especialidad.CARDIOLOGIA);
+        final Medico medico2 = registrarMedico("Medico2", "medico2@gmail.com", "123456101", Especialidad.PEDIATRIA);
+        final Medico medico3 = registrarMedico("Medico3", "medico3@gmail.com", "123456102", Especialidad.ORTOPEDIA);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When o Act
+        int primera = medicoRepository.desactivar(medico1.getId());
+        int segunda = medicoRepository.desactivar(medico1.getId());
+        int enLote = medicoRepository.desactivarTodos(List.of(medico1.getId(), medico2.getId(), medico3.getId(), -1L));
+
+        // Then o Assert: en el lote solo cuentan los que seguían activos
+        assertThat(primera).isEqualTo(1);
+        assertThat(segunda).isZero();
+        assertThat(enLote).isEqualTo(2);
+        assertThat(medicoRepository.buscarEstadoActivo(List.of(medico2.getId()))).containsExactly(new EstadoActivo(medico2.getId(), false));
+        assertThat(entityManager.find(Medico.class, medico1.getId()).getVersion()).isEqualTo(medico1.getVersion() + 1);
     }
 
     private void registrarConsulta(final Medico medico, final Paciente paciente, final LocalDateTime fecha, final MotivoCancelamiento motivoCancelamiento) {
@@ -0,0 +1,64 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.validation.Validation;
+import med.voll.api.domain.direccion.DatosDireccion;
+import med.voll.api.domain.importacion.DatosErrorImportacion;
+import med.voll.api.domain.importacion.FilaImportacion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ImportacionDePacientesTest {
+
+    private final PacienteRepository pacienteRepository = mock(PacienteRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ImportacionDePacientes importacion = new ImportacionDePacientes(
+            Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, pacienteRepository,
+            mock(ClavesDePacientes.class));
+
+    @Test
+    @DisplayName("Debería registrar las filas válidas e informar por número de fila las inválidas y las duplicadas")
+    void importarEscenario1() {
+        //Give o Arrange: la fila 4 repite el email de la 1 y la fila 5 ya está registrada
+        when(pacienteRepository.buscarEmailsRegistrados(anyCollection())).thenReturn(List.of("registrado@mail.com"));
+        when(pacienteRepository.buscarDocumentosRegistrados(anyCollection())).thenReturn(List.of());
+        var filas = List.of(
+                FilaImportacion.valida(1, paciente("ana@mail.com", "12345678")),
+                FilaImportacion.valida(2, paciente("correo-invalido", "23456789")),
+                FilaImportacion.<DatosRegistroPaciente>invalida(3, "La fila no tiene un formato válido"),
+                FilaImportacion.valida(4, paciente("ANA@mail.com", "34567890")),
+                FilaImportacion.valida(5, paciente("Registrado@mail.com", "45678901")),
+                FilaImportacion.valida(6, paciente("bruno@mail.com", "56789012"))
+        );
+
+        // When o Act
+        var resultado = importacion.importar(filas.iterator());
+
+        // Then o Assert
+        assertThat(resultado.total()).isEqualTo(6);
+        assertThat(resultado.importadas()).isEqualTo(2);
+        assertThat(resultado.errores())
+                .extracting(DatosErrorImportacion::fila, DatosErrorImportacion::code)
+                .containsExactly(
+                        tuple(2, "ERR_INVALID_REQUEST"),
+                        tuple(3, "ERR_INVALID_REQUEST"),
+                        tuple(4, "ERR_DUPLICATE_EMAIL"),
+                        tuple(5, "ERR_DUPLICATE_EMAIL"));
+        verify(pacienteRepository, times(2)).save(any(Paciente.class));
+        // Una sola consulta de duplicados para el bloque, no una por fila
+        verify(pacienteRepository, times(1)).buscarEmailsRegistrados(anyCollection());
+    }
+
+    private static DatosRegistroPaciente paciente(String email, String documento) {
+        return new DatosRegistroPaciente("Paciente", email, documento, "3001234567",
+                new DatosDireccion("Calle 1", "Centro", "Bogotá", "10", "Apto 1"));
+    }
+}
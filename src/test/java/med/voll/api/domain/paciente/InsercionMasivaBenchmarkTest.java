@@ -0,0 +1,68 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.direccion.DatosDireccion;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filas por segundo al insertar pacientes con un INSERT por viaje (lo que permitía IDENTITY)
+ * y con lotes JDBC de 50 gracias al generador por tabla. Cada medición se revierte al terminar.
+ * Se ejecuta aparte: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InsercionMasivaBenchmarkTest {
+
+    private static final int TAMANO_VACIADO = 500;
+    private static final double MEJORA_MINIMA = 2.0;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest(name = "{0} filas")
+    @ValueSource(ints = {10_000, 100_000})
+    void insertarPacientes(int filas) {
+        double filaAFila = medir(filas, 1, "a");
+        double enLotes = medir(filas, 50, "b");
+
+        // Con rewriteBatchedStatements cada lote viaja como un solo INSERT multi-fila
+        assertThat(enLotes / filaAFila)
+                .as("%,d pacientes: %,.0f filas/s fila a fila, %,.0f filas/s en lotes de 50", filas, filaAFila, enLotes)
+                .isGreaterThan(MEJORA_MINIMA);
+    }
+
+    private double medir(final int filas, final int tamanoLote, final String prefijo) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(tamanoLote);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < filas; i++) {
+            entityManager.persist(new Paciente(new DatosRegistroPaciente(
+                    "Paciente " + i,
+                    prefijo + i + "@bench.com",
+                    prefijo + i,
+                    "1234567891",
+                    new DatosDireccion("Calle x", "Distrito y", "Ciudad z", "123", "1"))));
+            if ((i + 1) % TAMANO_VACIADO == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long nanos = System.nanoTime() - inicio;
+
+        return filas / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,122 @@
+package med.voll.api.infra.datasource;
+
+import med.voll.api.domain.LecturaConsistente;
+import med.voll.api.domain.cache.CacheLocal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dos bases H2 embebidas hacen de primaria y de réplica; cada una responde con su nombre
+class DataSourceConReplicasTest {
+
+    private EmbeddedDatabase primaria;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate lectura;
+    private TransactionTemplate escritura;
+
+    @BeforeEach
+    void crearBases() {
+        primaria = crearBase("primaria");
+        replica = crearBase("replica");
+
+        var dataSource = new LazyConnectionDataSourceProxy(
+                new DataSourceConReplicas(primaria, List.of(replica), Duration.ofMinutes(1)));
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void cerrarBases() {
+        SecurityContextHolder.clearContext();
+        primaria.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería leer de la réplica en transacciones de solo lectura y de la primaria en las demás")
+    void enrutarEscenario1() {
+        String enLectura = lectura.execute(estado -> origen());
+        String enEscritura = escritura.execute(estado -> origen());
+
+        assertThat(enLectura).isEqualTo("replica");
+        assertThat(enEscritura).isEqualTo("primaria");
+        assertThat(origen()).isEqualTo("primaria");
+    }
+
+    @Test
+    @DisplayName("Debería leer de la primaria cuando el mismo usuario acaba de escribir")
+    void enrutarEscenario2() {
+        // Given o Arrange
+        autenticar("admin");
+        escritura.executeWithoutResult(estado -> jdbcTemplate.update("UPDATE origen SET nombre = nombre"));
+
+        // When o Act y Then o Assert: el que escribió lee su escritura; otro usuario sigue en la réplica
+        String delQueEscribio = lectura.execute(estado -> origen());
+        autenticar("otro");
+        String deOtroUsuario = lectura.execute(estado -> origen());
+
+        assertThat(delQueEscribio).isEqualTo("primaria");
+        assertThat(deOtroUsuario).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Debería leer de la primaria dentro de un bloque de lectura consistente")
+    void enrutarEscenario3() {
+        String origen = LecturaConsistente.obtener(() -> lectura.execute(estado -> origen()));
+
+        assertThat(origen).isEqualTo("primaria");
+    }
+
+    @Test
+    @DisplayName("Debería cargar la caché desde la primaria aunque la lectura sea de solo lectura")
+    void enrutarEscenario4() {
+        // Given o Arrange: así cargan la caché MedicoService y PacienteService
+        var cache = CacheLocal.<Long, String>crear("lru", 10);
+
+        // When o Act
+        String origen = cache.obtener(1L, clave -> LecturaConsistente.obtener(() -> lectura.execute(estado -> origen())));
+
+        // Then o Assert
+        assertThat(origen).isEqualTo("primaria");
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static void autenticar(final String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                usuario, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    private static EmbeddedDatabase crearBase(final String nombre) {
+        EmbeddedDatabase base = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        var jdbc = new JdbcTemplate(base);
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO origen (nombre) VALUES (?)", nombre);
+        return base;
+    }
+}
@@ -0,0 +1,55 @@
+package med.voll.api.infra.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenServiceTest {
+
+    private static final String SECRETO = "clave-de-prueba-de-al-menos-32-bytes!";
+
+    private final TokenService tokenService = new TokenService(SECRETO);
+
+    @Test
+    @DisplayName("Debería devolver usuario, id, roles y expiración del token en una sola verificación")
+    void verificarEscenario1() {
+        //Give o Arrange
+        String token = tokenService.gerarToken(new DatosJwtToken(7L, "ROLE_ADMIN,ROLE_USER_MEDIC", "admin"));
+
+        // When o Act
+        DatosTokenVerificado verificado = tokenService.verificar(token);
+
+        // Then o Assert
+        assertThat(verificado.login()).isEqualTo("admin");
+        assertThat(verificado.id()).isEqualTo(7L);
+        assertThat(verificado.autoridades()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_USER_MEDIC");
+        assertThat(verificado.expiracion()).isAfter(Instant.now());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un token firmado con otra clave o emitido por otro issuer")
+    void verificarEscenario2() {
+        //Give o Arrange
+        String otraClave = new TokenService("otra-clave-de-prueba-de-al-menos-32-bytes")
+                .gerarToken(new DatosJwtToken(1L, "ROLE_ADMIN", "admin"));
+        String otroIssuer = Jwts.builder()
+                .issuer("otro")
+                .subject("admin")
+                .signWith(Keys.hmacShaKeyFor(SECRETO.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // When o Act y Then o Assert
+        assertThatThrownBy(() -> tokenService.verificar(otraClave)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> tokenService.verificar(otroIssuer)).isInstanceOf(JwtException.class);
+    }
+}
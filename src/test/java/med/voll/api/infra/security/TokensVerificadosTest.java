@@ -0,0 +1,75 @@
+package med.voll.api.infra.security;
+
+import io.jsonwebtoken.JwtException;
+import med.voll.api.domain.RechazoDeDominio;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokensVerificadosTest {
+
+    private final TokenService tokenService = mock(TokenService.class);
+    private final TokensVerificados tokensVerificados = new TokensVerificados(tokenService, 100, 1);
+
+    @Test
+    @DisplayName("Debería verificar un token una sola vez y responder desde la caché las siguientes")
+    void verificarEscenario1() {
+        //Give o Arrange
+        var verificado = new DatosTokenVerificado("admin", 1L, List.of(), Instant.now().plusSeconds(60));
+        when(tokenService.verificar("token")).thenReturn(verificado);
+
+        // When o Act
+        tokensVerificados.verificar("token");
+        DatosTokenVerificado segundo = tokensVerificados.verificar("token");
+
+        // Then o Assert
+        assertThat(segundo).isSameAs(verificado);
+        verify(tokenService, times(1)).verificar("token");
+    }
+
+    @Test
+    @DisplayName("Debería no guardar los tokens inválidos y rechazar los revocados aunque estén en caché")
+    void verificarEscenario2() {
+        //Give o Arrange
+        when(tokenService.verificar("invalido")).thenThrow(new JwtException("firma"));
+        when(tokenService.verificar("token"))
+                .thenReturn(new DatosTokenVerificado("admin", 1L, List.of(), Instant.now().plusSeconds(60)));
+        tokensVerificados.verificar("token");
+
+        // When o Act
+        tokensVerificados.revocar("token");
+
+        // Then o Assert
+        assertThatThrownBy(() -> tokensVerificados.verificar("invalido")).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> tokensVerificados.verificar("invalido")).isInstanceOf(JwtException.class);
+        verify(tokenService, times(2)).verificar("invalido");
+        assertThatThrownBy(() -> tokensVerificados.verificar("token")).isInstanceOf(TokenRevocadoException.class);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar la revocación cuando se llegó al tope sin desalojar las ya revocadas")
+    void revocarEscenario1() {
+        //Give o Arrange: el tope de revocados es 1
+        when(tokenService.verificar("token"))
+                .thenReturn(new DatosTokenVerificado("admin", 1L, List.of(), Instant.now().plusSeconds(60)));
+        when(tokenService.verificar("otro"))
+                .thenReturn(new DatosTokenVerificado("medico", 2L, List.of(), Instant.now().plusSeconds(60)));
+        tokensVerificados.revocar("token");
+
+        // When o Act y Then o Assert
+        assertThatThrownBy(() -> tokensVerificados.revocar("otro"))
+                .isInstanceOf(RechazoDeDominio.class)
+                .hasMessage("ERR_LOGOUT_UNAVAILABLE");
+        assertThatThrownBy(() -> tokensVerificados.verificar("token")).isInstanceOf(TokenRevocadoException.class);
+        assertThat(tokensVerificados.verificar("otro").login()).isEqualTo("medico");
+    }
+}
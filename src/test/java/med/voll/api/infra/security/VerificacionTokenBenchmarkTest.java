@@ -0,0 +1,88 @@
+package med.voll.api.infra.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Costo de autenticar una solicitud en JwtAuthenticationFilter, medido con JMH: antes, tres parseos
+ * con clave y parser nuevos en cada uno; ahora, TokenService.verificar con clave y parser compartidos.
+ * Se ejecuta aparte: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VerificacionTokenBenchmarkTest {
+
+    private static final String SECRETO = "clave-de-benchmark-de-al-menos-32-bytes";
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService(SECRETO);
+        token = tokenService.gerarToken(new DatosJwtToken(1L, "ROLE_ADMIN", "admin"));
+    }
+
+    // Lo que hacía el filtro: validarToken, getUsernameFromToken y getRolesFromToken
+    @Benchmark
+    public Object tresParseos() {
+        Claims validado = parsear(true);
+        String login = parsear(false).getSubject();
+        String roles = parsear(false).get("rol", String.class);
+        return validado.getSubject() != null ? DatosTokenVerificado.autoridadesDe(roles) + login : null;
+    }
+
+    @Benchmark
+    public DatosTokenVerificado unParseo() {
+        return tokenService.verificar(token);
+    }
+
+    private Claims parsear(final boolean conIssuer) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(SECRETO.getBytes(StandardCharsets.UTF_8));
+        var parser = Jwts.parser().verifyWith(secretKey);
+        if (conIssuer) {
+            parser.requireIssuer("voll med");
+        }
+        return parser.build().parseSignedClaims(token).getPayload();
+    }
+
+    @Test
+    void compararCostoPorSolicitud() throws RunnerException {
+        Collection<RunResult> resultados = new Runner(new OptionsBuilder()
+                .include(getClass().getName())
+                .forks(1)
+                .build()).run();
+
+        Map<String, Double> microsegundos = new HashMap<>();
+        resultados.forEach(resultado -> microsegundos.put(
+                resultado.getParams().getBenchmark().substring(getClass().getName().length() + 1),
+                resultado.getPrimaryResult().getScore()));
+
+        // Tres verificaciones de firma contra una: la mejora esperada ronda x3
+        assertThat(microsegundos.get("tresParseos") / microsegundos.get("unParseo"))
+                .as("Autenticación por solicitud: %.2f µs con tres parseos, %.2f µs con uno",
+                        microsegundos.get("tresParseos"), microsegundos.get("unParseo"))
+                .isGreaterThan(2.0);
+    }
+}